@@ -0,0 +1,48 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArrayTypeBenchmark {
+    @Param({"1", "3"})
+    public int dimension;
+
+    // The string-based implementation used before the introduction of the cached one
+    private static Class<?> forName(Class<?> type, int dimension) throws ClassNotFoundException {
+        if (type.isArray()) {
+            return Class.forName("[".repeat(dimension) + type.getName(), false, type.getClassLoader());
+        }
+        return Class.forName("[".repeat(dimension) + "L" + type.getName() + ";", false, type.getClassLoader());
+    }
+
+    private static Class<?> newInstance(Class<?> type, int dimension) {
+        var ret = type;
+        for (var i = 0; i < dimension; ++i) {
+            ret = Array.newInstance(ret, 0).getClass();
+        }
+        return ret;
+    }
+
+    @Benchmark
+    public Class<?> benchForName() throws ClassNotFoundException {
+        return forName(String.class, dimension);
+    }
+
+    @Benchmark
+    public Class<?> benchNewInstance() {
+        return newInstance(String.class, dimension);
+    }
+
+    @Benchmark
+    public Class<?> benchGetArrayType() {
+        return TypeUtil.getArrayType(String.class, dimension);
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CanonicalizeBenchmark {
+    @Param({"4", "32"})
+    public int size;
+
+    private Type deep;
+    private Type wide;
+    private Type nested;
+    private Type mixed;
+
+    @Setup
+    public void setup() {
+        deep = Samples.deep(size);
+        wide = Samples.wide(size);
+        nested = Types.canonicalize(Samples.JDK_NESTED);
+        // Canonical tree with a single foreign node
+        mixed = Types.of(Map.class, wide, Samples.JDK_NESTED);
+    }
+
+    @Benchmark
+    public Type benchCanonicalizeJdk() {
+        return Types.canonicalize(Samples.JDK_NESTED);
+    }
+
+    @Benchmark
+    public Type benchCanonicalizeJType() {
+        return Types.canonicalize(nested);
+    }
+
+    @Benchmark
+    public Type benchCanonicalizeDeep() {
+        return Types.canonicalize(deep);
+    }
+
+    @Benchmark
+    public Type benchCanonicalizeWide() {
+        return Types.canonicalize(wide);
+    }
+
+    @Benchmark
+    public Type benchCanonicalizeMixed() {
+        return Types.canonicalize(mixed);
+    }
+
+    @Benchmark
+    public Type benchInternJdk() {
+        return Types.intern(Samples.JDK_NESTED);
+    }
+
+    @Benchmark
+    public Type benchInternDeep() {
+        return Types.intern(deep);
+    }
+}
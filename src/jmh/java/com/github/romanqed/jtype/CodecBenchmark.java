@@ -0,0 +1,61 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CodecBenchmark {
+    @Param({"4", "32"})
+    public int size;
+
+    private TypeCodec codec;
+    private Type type;
+    private byte[] encoded;
+    private byte[] serialized;
+
+    private static byte[] serialize(Type type) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(type);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        codec = new TypeCodec(CodecBenchmark.class.getClassLoader());
+        type = Samples.wide(size);
+        encoded = codec.encode(type);
+        serialized = serialize(type);
+    }
+
+    @Benchmark
+    public byte[] benchEncode() {
+        return codec.encode(type);
+    }
+
+    @Benchmark
+    public Type benchDecode() {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] benchSerialize() throws IOException {
+        return serialize(type);
+    }
+
+    @Benchmark
+    public Object benchDeserialize() throws IOException, ClassNotFoundException {
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return input.readObject();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ContentionBenchmark {
+    private Type from;
+    private Type to;
+
+    @Setup
+    public void setup() {
+        from = Types.of(ArrayList.class, Integer.class);
+        to = Types.of(List.class, Types.subtypeOf(Number.class));
+    }
+
+    @Benchmark
+    public Type benchIntern() {
+        return Types.intern(Samples.JDK_NESTED);
+    }
+
+    @Benchmark
+    public boolean benchIsAssignable() {
+        return Assignability.isAssignable(from, to);
+    }
+
+    @Benchmark
+    public Type benchResolve() {
+        return TypeResolver.getSupertype(from, Iterable.class);
+    }
+
+    @Benchmark
+    public Class<?> benchArrayType() {
+        return TypeUtil.getArrayType(String.class, 2);
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HashEqualsBenchmark {
+    @Param({"4", "32"})
+    public int size;
+
+    private Type first;
+    private Type second;
+    private Type jdk;
+    private Type jtype;
+    private Type key;
+    private Map<Type, Object> map;
+
+    @Setup
+    public void setup() {
+        first = Samples.wide(size);
+        second = Samples.wide(size);
+        jdk = Samples.JDK_NESTED;
+        jtype = Types.canonicalize(jdk);
+        map = new HashMap<>();
+        for (var i = 1; i <= size; ++i) {
+            map.put(Samples.deep(i), i);
+        }
+        // Equal to the deepest key, but a different instance, so the lookup hits and compares the trees
+        key = Samples.deep(size);
+    }
+
+    @Benchmark
+    public int benchHashJdk() {
+        return jdk.hashCode();
+    }
+
+    @Benchmark
+    public int benchHashJType() {
+        return jtype.hashCode();
+    }
+
+    @Benchmark
+    public boolean benchEqualsJType() {
+        return first.equals(second);
+    }
+
+    @Benchmark
+    public boolean benchEqualsMixed() {
+        return jtype.equals(jdk);
+    }
+
+    @Benchmark
+    public Object benchMapLookup() {
+        return map.get(key);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JTypeBenchmark {
+    private final JType<?> list = new JType<ArrayList<String>>() {
+    };
+
+    @Benchmark
+    public JType<?> benchAnonymous() {
+        return new JType<Map<String, List<Integer>>>() {
+        };
+    }
+
+    @Benchmark
+    public JType<?> benchOfType() {
+        return JType.of(Samples.JDK_NESTED);
+    }
+
+    @Benchmark
+    public JType<?> benchOfClass() {
+        return JType.of(String.class);
+    }
+
+    @Benchmark
+    public Type[] benchTypeArguments() {
+        return list.getTypeArguments(Iterable.class);
+    }
+
+    @Benchmark
+    public Type[] benchTypeArgumentsFresh() {
+        return JType.of(Samples.JDK_NESTED).getTypeArguments(Map.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RawTypeBenchmark {
+    private Type parameterized;
+    private Type array;
+    private Type wildcard;
+    private Type[] bulk;
+    private Class<?>[] raws;
+    private Type variable;
+    private Type captured;
+
+    @Setup
+    public void setup() {
+        parameterized = Types.of(List.class, String.class);
+        array = Types.canonicalize(Samples.JDK_ARRAY);
+        wildcard = Types.subtypeOf(Types.of(Types.of(List.class, String.class), 3));
+        bulk = new Type[1000];
+        for (var i = 0; i < bulk.length; ++i) {
+            bulk[i] = i % 4 == 0 ? array : parameterized;
+        }
+        raws = new Class<?>[bulk.length];
+        variable = Enum.class.getTypeParameters()[0];
+        captured = Types.of(Map.class, Types.subtypeOf(Number.class), Types.supertypeOf(String.class));
+    }
+
+    @Benchmark
+    public Class<?> benchParameterized() {
+        return TypeUtil.getRawType(parameterized);
+    }
+
+    @Benchmark
+    public Class<?> benchArrayJdk() {
+        return TypeUtil.getRawType(Samples.JDK_ARRAY);
+    }
+
+    @Benchmark
+    public Class<?> benchArrayJType() {
+        return TypeUtil.getRawType(array);
+    }
+
+    @Benchmark
+    public Class<?> benchWildcard() {
+        return TypeUtil.getRawType(wildcard);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public Class<?>[] benchBulk() {
+        return TypeUtil.getRawTypes(bulk, raws);
+    }
+
+    @Benchmark
+    public Class<?> benchEraseVariable() {
+        return TypeUtil.erase(variable);
+    }
+
+    @Benchmark
+    public Type benchCapture() {
+        return TypeUtil.capture(captured);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class Samples {
+    static final Type JDK_NESTED = getFieldType("nested");
+    static final Type JDK_ARRAY = getFieldType("array");
+    static final Type JDK_WIDE = getFieldType("wide");
+
+    private Samples() {
+    }
+
+    private static Type getFieldType(String name) {
+        try {
+            return Holder.class.getDeclaredField(name).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // List<List<...<String>...>>
+    static Type deep(int depth) {
+        var ret = (Type) String.class;
+        for (var i = 0; i < depth; ++i) {
+            ret = Types.of(List.class, ret);
+        }
+        return ret;
+    }
+
+    // Map<Map<...>, Map<...>>, balanced tree with the specified number of leaves
+    static Type wide(int width) {
+        if (width <= 1) {
+            return Types.of(List.class, Integer.class);
+        }
+        var half = width / 2;
+        return Types.of(Map.class, wide(half), wide(width - half));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Holder {
+        Map<String, List<Map<Integer, Set<String>>>> nested;
+        List<? extends Number>[] array;
+        Wide<String, Integer, Long, Double, List<String>, Set<Integer>, Map<String, Long>, List<? super Number>> wide;
+    }
+
+    @SuppressWarnings("unused")
+    interface Wide<A, B, C, D, E, F, G, H> {
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.romanqed.jtype;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TypeNameBenchmark {
+    @Param({"4", "32"})
+    public int size;
+
+    private Type deep;
+    private Type wide;
+    private Type nested;
+
+    @Setup
+    public void setup() {
+        deep = Samples.deep(size);
+        wide = Samples.wide(size);
+        nested = Types.canonicalize(Samples.JDK_WIDE);
+    }
+
+    @Benchmark
+    public String benchJdk() {
+        return Samples.JDK_WIDE.getTypeName();
+    }
+
+    @Benchmark
+    public String benchJType() {
+        return nested.getTypeName();
+    }
+
+    @Benchmark
+    public String benchDeep() {
+        return deep.getTypeName();
+    }
+
+    @Benchmark
+    public String benchWide() {
+        return wide.getTypeName();
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.romanqed.jtype;
+
+import java.io.Serializable;
+import java.lang.reflect.*;
+import java.util.Objects;
+
+/**
+ * A utility class containing methods for checking the assignability of generic types.
+ * The checks take into account type arguments, wildcards, bounds of type variables and arrays,
+ * while tags of {@link TaggedType} instances are ignored and only their raw types are compared.
+ * No boxing, unboxing or primitive widening conversions are applied.
+ * <br>
+ * The generic supertypes of classes are taken from the cache of {@link TypeResolver},
+ * and the results of the checks are memoized, so repeated checks of the same types are table lookups.
+ * This class cannot be instantiated.
+ */
+public final class Assignability {
+    private static final int CAPACITY = 4096;
+    private static final TypeCache<Key, Boolean> RESULTS = new TypeCache<>(
+            "assignability",
+            CAPACITY,
+            key -> TypeCache.anchorOf(key.from, key.to)
+    );
+
+    private Assignability() {
+    }
+
+    private static boolean isUnbounded(Type type) {
+        if (!(type instanceof WildcardType)) {
+            return false;
+        }
+        var wildcard = (WildcardType) type;
+        if (wildcard.getLowerBounds().length != 0) {
+            return false;
+        }
+        for (var bound : wildcard.getUpperBounds()) {
+            if (bound != Object.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAnyAssignable(Type[] from, Type to) {
+        for (var type : from) {
+            if (innerIsAssignable(type, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(Type expected, Type actual) {
+        if (!(expected instanceof WildcardType)) {
+            return !(actual instanceof WildcardType) && expected.equals(actual);
+        }
+        var wildcard = (WildcardType) expected;
+        Type[] uppers;
+        Type[] lowers;
+        if (actual instanceof WildcardType) {
+            uppers = ((WildcardType) actual).getUpperBounds();
+            lowers = ((WildcardType) actual).getLowerBounds();
+        } else {
+            uppers = new Type[]{actual};
+            lowers = uppers;
+        }
+        for (var bound : wildcard.getUpperBounds()) {
+            if (bound != Object.class && !isAnyAssignable(uppers, bound)) {
+                return false;
+            }
+        }
+        for (var bound : wildcard.getLowerBounds()) {
+            var found = false;
+            for (var lower : lowers) {
+                if (innerIsAssignable(bound, lower)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAssignable(Type from, ParameterizedType to) {
+        var supertype = TypeResolver.innerGetSupertype(from, (Class<?>) to.getRawType());
+        if (supertype == null) {
+            return false;
+        }
+        var expected = ParameterizedTypeImpl.argumentsOf(to);
+        if (!(supertype instanceof ParameterizedType)) {
+            // Raw types can only be assigned to types parameterized with unbounded wildcards
+            for (var argument : expected) {
+                if (!isUnbounded(argument)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        var parameterized = (ParameterizedType) supertype;
+        var actual = ParameterizedTypeImpl.argumentsOf(parameterized);
+        var length = expected.length;
+        if (length != actual.length) {
+            return false;
+        }
+        for (var i = 0; i < length; ++i) {
+            if (!contains(expected[i], actual[i])) {
+                return false;
+            }
+        }
+        var owner = to.getOwnerType();
+        if (owner instanceof ParameterizedType) {
+            var actualOwner = parameterized.getOwnerType();
+            return actualOwner != null && innerIsAssignable(actualOwner, owner);
+        }
+        return true;
+    }
+
+    private static boolean isAssignable(Type from, Class<?> to) {
+        if (!(from instanceof GenericArrayType)) {
+            return to.isAssignableFrom(TypeUtil.innerGetRawType(from));
+        }
+        if (to == Object.class || to == Cloneable.class || to == Serializable.class) {
+            return true;
+        }
+        var component = ((GenericArrayType) from).getGenericComponentType();
+        return to.isArray() && innerIsAssignable(component, to.getComponentType());
+    }
+
+    private static boolean isAssignable(Type from, GenericArrayType to) {
+        var component = to.getGenericComponentType();
+        if (from instanceof GenericArrayType) {
+            return innerIsAssignable(((GenericArrayType) from).getGenericComponentType(), component);
+        }
+        if (from instanceof Class) {
+            var clazz = (Class<?>) from;
+            return clazz.isArray() && innerIsAssignable(clazz.getComponentType(), component);
+        }
+        return false;
+    }
+
+    private static boolean isAssignable(Type from, WildcardType to) {
+        var lowers = to.getLowerBounds();
+        if (lowers.length != 0) {
+            for (var bound : lowers) {
+                if (!innerIsAssignable(from, bound)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (var bound : to.getUpperBounds()) {
+            if (!innerIsAssignable(from, bound)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean check(Key key) {
+        var from = key.from;
+        var to = key.to;
+        // The value of a type variable or a captured wildcard can be assigned,
+        // if the value of one of its upper bounds can be
+        if (from instanceof TypeVariable) {
+            return isAnyAssignable(((TypeVariable<?>) from).getBounds(), to);
+        }
+        if (from instanceof WildcardType) {
+            return isAnyAssignable(((WildcardType) from).getUpperBounds(), to);
+        }
+        if (to instanceof Class) {
+            return isAssignable(from, (Class<?>) to);
+        }
+        if (to instanceof ParameterizedType) {
+            return isAssignable(from, (ParameterizedType) to);
+        }
+        if (to instanceof GenericArrayType) {
+            return isAssignable(from, (GenericArrayType) to);
+        }
+        if (to instanceof WildcardType) {
+            return isAssignable(from, (WildcardType) to);
+        }
+        // Type variable can only be assigned with itself or with another variable bounded by it
+        return false;
+    }
+
+    static boolean innerIsAssignable(Type from, Type to) {
+        if (from instanceof TaggedType) {
+            from = ((TaggedType) from).getRawType();
+        }
+        if (to instanceof TaggedType) {
+            to = ((TaggedType) to).getRawType();
+        }
+        if (from instanceof Class && to instanceof Class) {
+            return ((Class<?>) to).isAssignableFrom((Class<?>) from);
+        }
+        if (from.equals(to)) {
+            return true;
+        }
+        return RESULTS.computeIfAbsent(new Key(from, to), Assignability::check);
+    }
+
+    /**
+     * Checks whether the value of the first specified type can be assigned to the second one.
+     * For example:
+     * <br>
+     * 1) isAssignable(ArrayList&lt;Integer&gt;, List&lt;? extends Number&gt;) =&gt; true
+     * <br>
+     * 2) isAssignable(ArrayList&lt;Integer&gt;, List&lt;Number&gt;) =&gt; false
+     *
+     * @param from the specified type of the assigned value, must be non-null
+     * @param to   the specified type of the target, must be non-null
+     * @return true if the assignment is possible, false otherwise
+     */
+    public static boolean isAssignable(Type from, Type to) {
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        return innerIsAssignable(from, to);
+    }
+
+    private static final class Key {
+        private final Type from;
+        private final Type to;
+        private final int hash;
+
+        private Key(Type from, Type to) {
+            this.from = from;
+            this.to = to;
+            this.hash = 31 * from.hashCode() + to.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            var that = (Key) o;
+            return hash == that.hash && from.equals(that.from) && to.equals(that.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
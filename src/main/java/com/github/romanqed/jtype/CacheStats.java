@@ -0,0 +1,110 @@
+package com.github.romanqed.jtype;
+
+/**
+ * A snapshot of the statistics of one of the library caches (see {@link Caches}).
+ * The counters are accumulated since the cache was created and are not reset by {@link Caches#clear()}.
+ */
+public final class CacheStats {
+    private final String name;
+    private final int size;
+    private final int capacity;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long collections;
+
+    CacheStats(String name, int size, int capacity, long hits, long misses, long evictions, long collections) {
+        this.name = name;
+        this.size = size;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.collections = collections;
+    }
+
+    /**
+     * Returns the name of the cache.
+     *
+     * @return name of the cache
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of entries, including the ones cleared by the garbage collector but not yet removed.
+     *
+     * @return number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return maximum number of entries
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that computed a new value.
+     *
+     * @return number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was full.
+     *
+     * @return number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of entries removed after being cleared by the garbage collector.
+     *
+     * @return number of collections
+     */
+    public long getCollections() {
+        return collections;
+    }
+
+    /**
+     * Returns the ratio of hits to all lookups, or 0 if there were no lookups.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        var total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return name
+                + "{size=" + size
+                + ", capacity=" + capacity
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", evictions=" + evictions
+                + ", collections=" + collections
+                + "}";
+    }
+}
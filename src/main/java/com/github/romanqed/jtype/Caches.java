@@ -0,0 +1,87 @@
+package com.github.romanqed.jtype;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A utility class containing methods for monitoring and clearing the caches used by the library.
+ * <br>
+ * The caches keyed by types, named "assignability", "signatures", "members", "hierarchies", "erasures"
+ * and "captures", are bounded and evict the least recently used entries (approximately) when full.
+ * Each entry is attached with {@link ClassValue} to the class its key refers to, whose class loader is the deepest one.
+ * The entry is strongly reachable only from that class, so the caches never pin class loaders: the entries
+ * of a redeployed application are collected together with its classes. A key mixing the classes of unrelated
+ * class loaders keeps the loaders other than the anchor one alive until the anchor class is unloaded.
+ * The other caches attached to classes with {@link ClassValue} only refer to the classes visible from their class,
+ * and are unloaded with it. Interned types are held by weak references.
+ * <br>
+ * The caches are configured with the following system properties, read once on initialization.
+ * Malformed values are reported with {@link System.Logger} and replaced with the defaults.
+ * <br>
+ * 1) {@value #VALUES} - "strong" (default, values are held while their anchor classes are alive)
+ * or "soft" (values are also cleared by the garbage collector under memory pressure), case-insensitive
+ * <br>
+ * 2) jtype.cache.&lt;name&gt;.capacity - the maximum number of entries of the cache with the specified name,
+ * 0 disables the cache
+ * <br>
+ * The caches are reported once the classes using them are initialized.
+ * This class cannot be instantiated.
+ */
+public final class Caches {
+    /**
+     * The prefix of the cache system properties.
+     */
+    public static final String PREFIX = "jtype.cache.";
+    /**
+     * The system property, specifying the references holding the cached values.
+     */
+    public static final String VALUES = "jtype.cache.values";
+    private static final List<TypeCache<?, ?>> CACHES = new CopyOnWriteArrayList<>();
+
+    private Caches() {
+    }
+
+    static void register(TypeCache<?, ?> cache) {
+        CACHES.add(cache);
+    }
+
+    /**
+     * Returns the statistics of all initialized caches.
+     *
+     * @return list of {@link CacheStats} instances
+     */
+    public static List<CacheStats> getStats() {
+        var ret = new ArrayList<CacheStats>(CACHES.size());
+        for (var cache : CACHES) {
+            ret.add(cache.getStats());
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the statistics of the cache with the specified name.
+     *
+     * @param name the specified name of the cache, must be non-null
+     * @return {@link CacheStats} instance or null, if there is no initialized cache with the specified name
+     */
+    public static CacheStats getStats(String name) {
+        Objects.requireNonNull(name);
+        for (var cache : CACHES) {
+            if (name.equals(cache.getName())) {
+                return cache.getStats();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes all entries from all caches. The statistics counters are not reset.
+     */
+    public static void clear() {
+        for (var cache : CACHES) {
+            cache.clear();
+        }
+    }
+}
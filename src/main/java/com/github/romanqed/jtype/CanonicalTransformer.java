@@ -0,0 +1,21 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.Type;
+
+class CanonicalTransformer extends TypeTransformer {
+    static final CanonicalTransformer INSTANCE = new CanonicalTransformer() {
+        @Override
+        public Type transform(Type type) {
+            // Subclasses may replace the contents of canonical trees, so only the plain canonicalization skips them
+            return TypeTraversal.isCanonical(type) ? type : super.transform(type);
+        }
+    };
+
+    @Override
+    protected boolean isReusable(Type type) {
+        return type instanceof ParameterizedTypeImpl
+                || type instanceof GenericArrayTypeImpl
+                || type instanceof WildcardTypeImpl
+                || type instanceof TaggedTypeImpl;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.romanqed.jtype;
+
+import java.util.Objects;
+
+/**
+ * An interface describing a strategy for finding classes by their binary names,
+ * for example, "java.lang.String" or "java.util.Map$Entry".
+ */
+@FunctionalInterface
+public interface ClassResolver {
+
+    /**
+     * Creates {@link ClassResolver} instance, that loads classes using the specified class loader.
+     * The loaded classes are not initialized.
+     *
+     * @param loader the specified class loader, must be non-null
+     * @return {@link ClassResolver} instance
+     */
+    static ClassResolver of(ClassLoader loader) {
+        Objects.requireNonNull(loader);
+        return name -> Class.forName(name, false, loader);
+    }
+
+    /**
+     * Finds the class with the specified binary name.
+     *
+     * @param name the specified binary name
+     * @return {@link Class} instance
+     * @throws ClassNotFoundException if the class cannot be found
+     */
+    Class<?> resolve(String name) throws ClassNotFoundException;
+}
@@ -1,5 +1,7 @@
 package com.github.romanqed.jtype;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
@@ -9,9 +11,31 @@ final class GenericArrayTypeImpl implements GenericArrayType, Serializable {
     private static final long serialVersionUID = 1786018160;
 
     private final Type component;
+    private transient int depth;
+    private transient boolean canonical;
+    private transient int hash;
+    private transient Class<?> rawType;
+    private transient String name;
+    private transient Class<?> anchor;
 
     GenericArrayTypeImpl(Type component) {
         this.component = component;
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+    }
+
+    private int computeDepth() {
+        return TypeTraversal.nest(TypeTraversal.depthOf(component), component);
+    }
+
+    private boolean computeCanonical() {
+        return TypeTraversal.isCanonical(component);
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
     }
 
     @Override
@@ -19,26 +43,88 @@ final class GenericArrayTypeImpl implements GenericArrayType, Serializable {
         return component;
     }
 
+    Class<?> getRawType() {
+        var ret = rawType;
+        if (ret == null) {
+            ret = TypeUtil.findRawType(this);
+            rawType = ret;
+        }
+        return ret;
+    }
+
+    Class<?> anchor() {
+        var ret = anchor;
+        if (ret == null) {
+            ret = TypeCache.findAnchor(this);
+            anchor = ret;
+        }
+        return ret;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    boolean isHashed() {
+        return hash != 0;
+    }
+
+    void appendTo(StringBuilder builder) {
+        if (name != null) {
+            builder.append(name);
+            return;
+        }
+        if (depth > TypeTraversal.RECURSION_LIMIT) {
+            TypeTraversal.append(builder, this);
+            return;
+        }
+        TypeUtil.append(builder, component);
+        builder.append("[]");
+    }
+
     @Override
     public String getTypeName() {
-        return TypeUtil.toString(component) + "[]";
+        var ret = name;
+        if (ret == null) {
+            var builder = new StringBuilder();
+            appendTo(builder);
+            ret = builder.toString();
+            name = ret;
+        }
+        return ret;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        if (o instanceof GenericArrayTypeImpl) {
+            var that = (GenericArrayTypeImpl) o;
+            if (hashCode() != that.hashCode()) return false;
+            if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, that);
+            return component.equals(that.component);
+        }
         if (!(o instanceof GenericArrayType)) return false;
+        if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, (GenericArrayType) o);
         var that = (GenericArrayType) o;
         return component.equals(that.getGenericComponentType());
     }
 
     @Override
     public int hashCode() {
-        return component.hashCode();
+        var ret = hash;
+        if (ret == 0) {
+            ret = depth > TypeTraversal.RECURSION_LIMIT ? TypeTraversal.hashCode(this) : component.hashCode();
+            hash = ret;
+        }
+        return ret;
     }
 
     @Override
     public String toString() {
-        return TypeUtil.toString(component) + "[]";
+        return getTypeName();
     }
 }
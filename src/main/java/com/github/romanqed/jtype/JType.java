@@ -2,6 +2,7 @@ package com.github.romanqed.jtype;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -19,9 +20,36 @@ public class JType<T> {
     public static final JType<Long> LONG = new JType<>(Long.class);
     public static final JType<Float> FLOAT = new JType<>(Float.class);
     public static final JType<Double> DOUBLE = new JType<>(Double.class);
+    public static final JType<Boolean> PRIMITIVE_BOOLEAN = new JType<>(boolean.class);
+    public static final JType<Character> PRIMITIVE_CHAR = new JType<>(char.class);
+    public static final JType<Byte> PRIMITIVE_BYTE = new JType<>(byte.class);
+    public static final JType<Short> PRIMITIVE_SHORT = new JType<>(short.class);
+    public static final JType<Integer> PRIMITIVE_INT = new JType<>(int.class);
+    public static final JType<Long> PRIMITIVE_LONG = new JType<>(long.class);
+    public static final JType<Float> PRIMITIVE_FLOAT = new JType<>(float.class);
+    public static final JType<Double> PRIMITIVE_DOUBLE = new JType<>(double.class);
+    public static final JType<Void> VOID = new JType<>(void.class);
+    public static final JType<boolean[]> BOOLEAN_ARRAY = new JType<>(boolean[].class);
+    public static final JType<char[]> CHAR_ARRAY = new JType<>(char[].class);
+    public static final JType<byte[]> BYTE_ARRAY = new JType<>(byte[].class);
+    public static final JType<short[]> SHORT_ARRAY = new JType<>(short[].class);
+    public static final JType<int[]> INT_ARRAY = new JType<>(int[].class);
+    public static final JType<long[]> LONG_ARRAY = new JType<>(long[].class);
+    public static final JType<float[]> FLOAT_ARRAY = new JType<>(float[].class);
+    public static final JType<double[]> DOUBLE_ARRAY = new JType<>(double[].class);
+
+    // The type arguments extracted from the direct subclasses, they are the same for all instances of the subclass
+    private static final ClassValue<Type> TYPE_ARGUMENTS = new ClassValue<>() {
+        @Override
+        protected Type computeValue(Class<?> type) {
+            return Types.innerIntern(getTypeArgument(type));
+        }
+    };
 
     private final Class<T> raw;
     private final Type type;
+    // Shared by all equal types, it is safe to publish it without synchronization
+    private TypeHierarchy hierarchy;
 
     JType(Class<T> raw, Type type) {
         this.raw = raw;
@@ -49,10 +77,13 @@ public class JType<T> {
      * </pre>
      * IMPORTANT! Make sure that the type argument is passed by the first inheriting class
      * and your jar package builder does not delete metadata containing generic information.
+     * <br>
+     * The type argument is extracted only once for each inheriting class and is stored
+     * as the interned jtype implementation (see {@link Types#intern(Type)}).
      */
     @SuppressWarnings("unchecked")
     protected JType() {
-        this.type = getTypeArgument();
+        this.type = TYPE_ARGUMENTS.get(getClass());
         this.raw = (Class<T>) TypeUtil.innerGetRawType(this.type);
     }
 
@@ -83,8 +114,8 @@ public class JType<T> {
         return new JType<>(raw, type);
     }
 
-    private Type getTypeArgument() {
-        var parent = getClass().getGenericSuperclass();
+    private static Type getTypeArgument(Class<?> type) {
+        var parent = type.getGenericSuperclass();
         if (!(parent instanceof ParameterizedType)) {
             throw new IllegalStateException("Missing type argument");
         }
@@ -113,9 +144,64 @@ public class JType<T> {
         return type;
     }
 
+    private TypeHierarchy getHierarchy() {
+        var ret = hierarchy;
+        if (ret == null) {
+            ret = TypeHierarchy.of(type);
+            hierarchy = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the generic superclasses of the stored type, from the direct superclass to {@link Object},
+     * with type arguments resolved in the context of the stored type.
+     * For example, for {@code ArrayList<String>} the result is
+     * [AbstractList&lt;String&gt;, AbstractCollection&lt;String&gt;, Object].
+     * <br>
+     * The result is computed once and cached for all equal types.
+     *
+     * @return unmodifiable {@link List} of supertypes, empty for interfaces, primitives and {@link Object}
+     */
+    public List<Type> getSupertypes() {
+        return getHierarchy().getSupertypes();
+    }
+
+    /**
+     * Returns all the generic interfaces implemented by the stored type directly or through its superclasses
+     * and super interfaces, with type arguments resolved in the context of the stored type.
+     * The interfaces are ordered breadth-first, starting with the interfaces declared by the raw class.
+     * <br>
+     * The result is computed once and cached for all equal types.
+     *
+     * @return unmodifiable {@link List} of interfaces
+     */
+    public List<Type> getInterfaces() {
+        return getHierarchy().getInterfaces();
+    }
+
+    /**
+     * Returns the type arguments of the specified supertype of the stored type, resolved in the context of
+     * the stored type. For example, for {@code ArrayList<String>} and {@code Iterable.class} the result is
+     * [String], and for {@code HashMap<String, Integer>} and {@code Map.class} it is [String, Integer].
+     * <br>
+     * The result is computed once for each supertype and cached for all equal types.
+     *
+     * @param supertype the specified raw supertype, must be non-null
+     * @return {@link Type} array, empty if the supertype is not generic, is inherited as a raw type
+     * or the stored type is raw,
+     * or null, if the raw type is not a subtype of the specified class
+     */
+    public Type[] getTypeArguments(Class<?> supertype) {
+        Objects.requireNonNull(supertype);
+        var ret = getHierarchy().getTypeArguments(supertype);
+        return ret == null ? null : ret.clone();
+    }
+
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
+        if (this == o) return true;
+        if (!(o instanceof JType)) return false;
         var that = (JType<?>) o;
         return type.equals(that.type);
     }
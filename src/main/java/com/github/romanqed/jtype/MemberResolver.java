@@ -0,0 +1,179 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A utility class containing methods for resolving the generic types of fields, methods and constructors
+ * in the context of a specific type. For example, the type of the field {@code List<T> items} declared in
+ * {@code Page<T>} is {@code List<User>} in the context of {@code Page<User>}.
+ * <br>
+ * The types are resolved using {@link TypeResolver#resolve(Type, Type)} and interned
+ * (see {@link Types#intern(Type)}). The results are cached per context type and member,
+ * so the reflection and resolution costs are paid once for each of them.
+ * This class cannot be instantiated.
+ */
+public final class MemberResolver {
+    private static final int CAPACITY = 1024;
+    private static final TypeCache<Type, Members> MEMBERS = new TypeCache<>("members", CAPACITY, TypeCache::anchorOf);
+
+    private MemberResolver() {
+    }
+
+    private static Members getMembers(Type context) {
+        var ret = MEMBERS.get(context);
+        if (ret != null) {
+            return ret;
+        }
+        return MEMBERS.computeIfAbsent(Types.innerIntern(context), Members::new);
+    }
+
+    /**
+     * Returns the generic type of the specified field resolved in the context of the specified type.
+     *
+     * @param context the specified context type, must be non-null
+     * @param field   the specified field, must be non-null
+     * @return resolved {@link Type} instance
+     * @throws IllegalArgumentException if the field is not declared by the raw type of the context or its supertypes
+     */
+    public static Type getType(Type context, Field field) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(field);
+        return getMembers(context).getType(field);
+    }
+
+    /**
+     * Returns the generic type of the specified field resolved in the context of
+     * the type stored in the specified {@link JType} instance.
+     *
+     * @param context the specified {@link JType} instance, must be non-null
+     * @param field   the specified field, must be non-null
+     * @return resolved {@link Type} instance
+     * @see #getType(Type, Field)
+     */
+    public static Type getType(JType<?> context, Field field) {
+        return getType(context.getType(), field);
+    }
+
+    /**
+     * Returns the generic return type of the specified method resolved in the context of the specified type.
+     *
+     * @param context the specified context type, must be non-null
+     * @param method  the specified method, must be non-null
+     * @return resolved {@link Type} instance
+     * @throws IllegalArgumentException if the method is not declared by the raw type of the context or its supertypes
+     */
+    public static Type getReturnType(Type context, Method method) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(method);
+        return getMembers(context).getReturnType(method);
+    }
+
+    /**
+     * Returns the generic return type of the specified method resolved in the context of
+     * the type stored in the specified {@link JType} instance.
+     *
+     * @param context the specified {@link JType} instance, must be non-null
+     * @param method  the specified method, must be non-null
+     * @return resolved {@link Type} instance
+     * @see #getReturnType(Type, Method)
+     */
+    public static Type getReturnType(JType<?> context, Method method) {
+        return getReturnType(context.getType(), method);
+    }
+
+    /**
+     * Returns the generic parameter types of the specified method or constructor resolved in the context
+     * of the specified type. The parameters are the same as returned by
+     * {@link Executable#getGenericParameterTypes()}.
+     *
+     * @param context    the specified context type, must be non-null
+     * @param executable the specified method or constructor, must be non-null
+     * @return {@link Type} array, containing resolved types
+     * @throws IllegalArgumentException if the executable is not declared by the raw type of the context
+     *                                  or its supertypes
+     */
+    public static Type[] getParameterTypes(Type context, Executable executable) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(executable);
+        return getMembers(context).getParameterTypes(executable).clone();
+    }
+
+    /**
+     * Returns the generic parameter types of the specified method or constructor resolved in the context of
+     * the type stored in the specified {@link JType} instance.
+     *
+     * @param context    the specified {@link JType} instance, must be non-null
+     * @param executable the specified method or constructor, must be non-null
+     * @return {@link Type} array, containing resolved types
+     * @see #getParameterTypes(Type, Executable)
+     */
+    public static Type[] getParameterTypes(JType<?> context, Executable executable) {
+        return getParameterTypes(context.getType(), executable);
+    }
+
+    private static final class Members {
+        private final Type context;
+        private final Class<?> raw;
+        // Fields and methods are never equal to each other, so their types share the map
+        private final ConcurrentHashMap<Member, Type> types;
+        private final ConcurrentHashMap<Executable, Type[]> parameters;
+
+        private Members(Type context) {
+            this.context = context;
+            this.raw = TypeUtil.innerGetRawType(context);
+            this.types = new ConcurrentHashMap<>();
+            this.parameters = new ConcurrentHashMap<>();
+        }
+
+        private void check(Member member) {
+            if (!member.getDeclaringClass().isAssignableFrom(raw)) {
+                throw new IllegalArgumentException(member + " is not a member of " + context.getTypeName());
+            }
+        }
+
+        private Type resolve(Type type) {
+            return Types.innerIntern(TypeResolver.innerResolve(context, type));
+        }
+
+        private Type getType(Field field) {
+            var ret = types.get(field);
+            if (ret != null) {
+                return ret;
+            }
+            check(field);
+            return types.computeIfAbsent(field, key -> resolve(field.getGenericType()));
+        }
+
+        private Type getReturnType(Method method) {
+            var ret = types.get(method);
+            if (ret != null) {
+                return ret;
+            }
+            check(method);
+            return types.computeIfAbsent(method, key -> resolve(method.getGenericReturnType()));
+        }
+
+        private Type[] getParameterTypes(Executable executable) {
+            var ret = parameters.get(executable);
+            if (ret != null) {
+                return ret;
+            }
+            check(executable);
+            return parameters.computeIfAbsent(executable, key -> {
+                var generics = executable.getGenericParameterTypes();
+                var length = generics.length;
+                var resolved = new Type[length];
+                for (var i = 0; i < length; ++i) {
+                    resolved[i] = resolve(generics[i]);
+                }
+                return resolved;
+            });
+        }
+    }
+}
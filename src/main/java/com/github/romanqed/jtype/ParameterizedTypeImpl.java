@@ -1,5 +1,7 @@
 package com.github.romanqed.jtype;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -13,16 +15,47 @@ final class ParameterizedTypeImpl implements ParameterizedType, Serializable {
     private final Type owner;
     private final Type raw;
     private final Type[] arguments;
+    // Lazily computed, since the hash codes of classes are not preserved during serialization
+    private transient int depth;
+    private transient boolean canonical;
+    private transient int hash;
+    private transient String name;
+    private transient Class<?> anchor;
 
     ParameterizedTypeImpl(Type owner, Type raw, Type[] arguments) {
         this.owner = owner;
         this.raw = raw;
         this.arguments = arguments;
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+    }
+
+    private int computeDepth() {
+        return TypeTraversal.nest(Math.max(TypeTraversal.depthOf(owner), TypeTraversal.depthOf(arguments)), raw);
+    }
+
+    private boolean computeCanonical() {
+        return TypeTraversal.isCanonical(owner) && TypeTraversal.isCanonical(raw)
+                && TypeTraversal.isCanonical(arguments);
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+    }
+
+    // The returned array must not be modified
+    static Type[] argumentsOf(ParameterizedType type) {
+        if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).arguments;
+        }
+        return type.getActualTypeArguments();
     }
 
     @Override
     public Type[] getActualTypeArguments() {
-        return arguments;
+        return arguments.clone();
     }
 
     @Override
@@ -35,32 +68,105 @@ final class ParameterizedTypeImpl implements ParameterizedType, Serializable {
         return owner;
     }
 
-    @Override
-    public String getTypeName() {
+    // The name of the raw type relative to the parameterized owner, as rendered by the jdk: Owner<A>$Inner<B>,
+    // or null if the raw type is not a class nested in the raw type of the owner
+    static String innerNameOf(ParameterizedType type) {
+        var owner = type.getOwnerType();
+        var raw = type.getRawType();
+        if (!(owner instanceof ParameterizedType) || !(raw instanceof Class)) {
+            return null;
+        }
+        var ownerRaw = ((ParameterizedType) owner).getRawType();
+        if (!(ownerRaw instanceof Class)) {
+            return null;
+        }
+        var prefix = ((Class<?>) ownerRaw).getName() + '$';
+        var name = ((Class<?>) raw).getName();
+        if (name.length() == prefix.length() || !name.startsWith(prefix)) {
+            return null;
+        }
+        return name.substring(prefix.length());
+    }
+
+    Class<?> anchor() {
+        var ret = anchor;
+        if (ret == null) {
+            ret = TypeCache.findAnchor(this);
+            anchor = ret;
+        }
+        return ret;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    boolean isHashed() {
+        return hash != 0;
+    }
+
+    void appendTo(StringBuilder builder) {
+        if (name != null) {
+            builder.append(name);
+            return;
+        }
+        if (depth > TypeTraversal.RECURSION_LIMIT) {
+            TypeTraversal.append(builder, this);
+            return;
+        }
         // Thanks to Bob Lee, Jesse Wilson and their code in the gson project
+        var inner = innerNameOf(this);
+        if (inner == null) {
+            TypeUtil.append(builder, raw);
+        } else {
+            // Outer<A>$Inner
+            TypeUtil.append(builder, owner);
+            builder.append('$').append(inner);
+        }
         var length = arguments.length;
         if (length == 0) {
-            return TypeUtil.toString(raw);
+            return;
         }
-        // Simple optimization to avoid unnecessary buffer re-allocations
-        // The heuristic is to consider the length of each type name to be 30 characters
-        var builder = new StringBuilder(30 * (length + 1));
         // Type<First
-        builder
-                .append(TypeUtil.toString(raw))
-                .append("<")
-                .append(TypeUtil.toString(arguments[0]));
+        builder.append('<');
+        TypeUtil.append(builder, arguments[0]);
         // Type<First, Second, Third, ...
         for (var i = 1; i < length; ++i) {
-            builder.append(", ").append(TypeUtil.toString(arguments[i]));
+            builder.append(", ");
+            TypeUtil.append(builder, arguments[i]);
+        }
+        builder.append('>');
+    }
+
+    @Override
+    public String getTypeName() {
+        var ret = name;
+        if (ret == null) {
+            var builder = new StringBuilder();
+            appendTo(builder);
+            ret = builder.toString();
+            name = ret;
         }
-        return builder.append(">").toString();
+        return ret;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        if (o instanceof ParameterizedTypeImpl) {
+            var that = (ParameterizedTypeImpl) o;
+            if (hashCode() != that.hashCode()) return false;
+            if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, that);
+            return Objects.equals(owner, that.owner)
+                    && raw.equals(that.raw)
+                    && Arrays.equals(arguments, that.arguments);
+        }
         if (!(o instanceof ParameterizedType)) return false;
+        if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, (ParameterizedType) o);
         var that = (ParameterizedType) o;
         return Objects.equals(owner, that.getOwnerType())
                 && raw.equals(that.getRawType())
@@ -69,10 +175,19 @@ final class ParameterizedTypeImpl implements ParameterizedType, Serializable {
 
     @Override
     public int hashCode() {
-        // Hash from openjdk
-        return Arrays.hashCode(arguments)
-                ^ (owner == null ? 0 : owner.hashCode())
-                ^ raw.hashCode();
+        var ret = hash;
+        if (ret == 0) {
+            if (depth > TypeTraversal.RECURSION_LIMIT) {
+                ret = TypeTraversal.hashCode(this);
+            } else {
+                // Hash from openjdk
+                ret = Arrays.hashCode(arguments)
+                        ^ (owner == null ? 0 : owner.hashCode())
+                        ^ raw.hashCode();
+            }
+            hash = ret;
+        }
+        return ret;
     }
 
     @Override
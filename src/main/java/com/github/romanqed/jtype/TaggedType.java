@@ -1,12 +1,15 @@
 package com.github.romanqed.jtype;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 /**
  * An interface describing a {@link Type} modification
  * that has additional metadata in the form of tags.
  * A string representation of this type looks like this:
  * Type:Tag1:Tag2:Tag3...:TagN
+ * <br>
+ * The tags are either ordered, or form a set (see {@link #isOrdered()}).
  */
 public interface TaggedType extends Type {
 
@@ -23,4 +26,68 @@ public interface TaggedType extends Type {
      * @return {@link Object} array
      */
     Object[] getTags();
+
+    /**
+     * Returns true if the order of tags is significant. Otherwise, the tags are distinct,
+     * and the types having the same raw type and the same set of tags are equal
+     * regardless of the order of tags. The hash code of such a type is calculated as
+     * {@code 31 * getRawType().hashCode()} plus the sum of the hash codes of tags.
+     * By default, returns true.
+     *
+     * @return true if the tags are ordered, false if the tags form a set
+     */
+    default boolean isOrdered() {
+        return true;
+    }
+
+    /**
+     * Returns the number of tags.
+     *
+     * @return the number of tags
+     */
+    default int getTagCount() {
+        return getTags().length;
+    }
+
+    /**
+     * Returns the tag at the specified position.
+     *
+     * @param index the specified position
+     * @return the tag, may be null
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    default Object getTag(int index) {
+        return getTags()[index];
+    }
+
+    /**
+     * Returns true if this type has the specified tag.
+     *
+     * @param tag the specified tag, may be null
+     * @return true if the tag is present, false otherwise
+     */
+    default boolean hasTag(Object tag) {
+        for (var found : getTags()) {
+            if (Objects.equals(found, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the first tag that is an instance of the specified class.
+     *
+     * @param type the specified class, must be non-null
+     * @param <T>  the type of the tag
+     * @return the found tag or null, if there is no such tag
+     */
+    default <T> T getTag(Class<T> type) {
+        for (var found : getTags()) {
+            if (type.isInstance(found)) {
+                return type.cast(found);
+            }
+        }
+        return null;
+    }
 }
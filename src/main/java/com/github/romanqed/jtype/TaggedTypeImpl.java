@@ -1,8 +1,13 @@
 package com.github.romanqed.jtype;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
 
 final class TaggedTypeImpl implements TaggedType, Serializable {
     // UID
@@ -10,10 +15,75 @@ final class TaggedTypeImpl implements TaggedType, Serializable {
 
     private final Type raw;
     private final Object[] tags;
+    // Absent in the instances serialized by the previous versions, so the default means ordered tags
+    private final boolean unordered;
+    private transient int depth;
+    private transient boolean canonical;
+    private transient int tagHash;
+    private transient int hash;
+    private transient String name;
+    private transient Class<?> anchor;
 
-    TaggedTypeImpl(Type raw, Object[] tags) {
+    TaggedTypeImpl(Type raw, Object[] tags, boolean unordered) {
         this.raw = raw;
         this.tags = tags;
+        this.unordered = unordered;
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+        this.tagHash = computeTagHash();
+    }
+
+    TaggedTypeImpl(Type raw, Object[] tags) {
+        this(raw, tags, false);
+    }
+
+    static Object[] normalize(Object[] tags) {
+        var ret = new ArrayList<>(tags.length);
+        for (var tag : tags) {
+            if (!ret.contains(tag)) {
+                ret.add(tag);
+            }
+        }
+        // The order of tags with equal hashes and names is arbitrary, but it does not affect the equality
+        ret.sort(Comparator.comparingInt(Objects::hashCode).thenComparing(String::valueOf));
+        return ret.toArray();
+    }
+
+    static TaggedTypeImpl copyOf(TaggedType type, Type raw) {
+        if (type instanceof TaggedTypeImpl) {
+            var tagged = (TaggedTypeImpl) type;
+            return new TaggedTypeImpl(raw, tagged.tags, tagged.unordered);
+        }
+        if (type.isOrdered()) {
+            return new TaggedTypeImpl(raw, type.getTags(), false);
+        }
+        return new TaggedTypeImpl(raw, normalize(type.getTags()), true);
+    }
+
+    private int computeDepth() {
+        return TypeTraversal.nest(TypeTraversal.depthOf(raw), raw);
+    }
+
+    private int computeTagHash() {
+        if (!unordered) {
+            return Arrays.hashCode(tags);
+        }
+        var ret = 0;
+        for (var tag : tags) {
+            ret += Objects.hashCode(tag);
+        }
+        return ret;
+    }
+
+    private boolean computeCanonical() {
+        return TypeTraversal.isCanonical(raw);
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+        this.tagHash = computeTagHash();
     }
 
     @Override
@@ -27,25 +97,147 @@ final class TaggedTypeImpl implements TaggedType, Serializable {
     }
 
     @Override
-    public String getTypeName() {
-        var builder = new StringBuilder(TypeUtil.toString(raw));
+    public boolean isOrdered() {
+        return !unordered;
+    }
+
+    @Override
+    public int getTagCount() {
+        return tags.length;
+    }
+
+    @Override
+    public Object getTag(int index) {
+        return tags[index];
+    }
+
+    @Override
+    public boolean hasTag(Object tag) {
+        return contains(tags, tag);
+    }
+
+    @Override
+    public <T> T getTag(Class<T> type) {
+        for (var found : tags) {
+            if (type.isInstance(found)) {
+                return type.cast(found);
+            }
+        }
+        return null;
+    }
+
+    Object[] tags() {
+        return tags;
+    }
+
+    int tagHash() {
+        return tagHash;
+    }
+
+    private static boolean contains(Object[] tags, Object tag) {
+        for (var found : tags) {
+            if (Objects.equals(found, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean equalTags(TaggedType that) {
+        if (unordered == that.isOrdered()) {
+            return false;
+        }
+        // The accessors of other implementations may copy the tags on each call, so they are taken once
+        var other = that instanceof TaggedTypeImpl ? ((TaggedTypeImpl) that).tags : that.getTags();
+        if (!unordered) {
+            return Arrays.equals(tags, other);
+        }
+        if (other.length != tags.length) {
+            return false;
+        }
+        // The tags are distinct, so the inclusion is enough
+        for (var tag : tags) {
+            if (!contains(other, tag)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Class<?> anchor() {
+        var ret = anchor;
+        if (ret == null) {
+            ret = TypeCache.findAnchor(this);
+            anchor = ret;
+        }
+        return ret;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    boolean isHashed() {
+        return hash != 0;
+    }
+
+    void appendTo(StringBuilder builder) {
+        if (name != null) {
+            builder.append(name);
+            return;
+        }
+        if (depth > TypeTraversal.RECURSION_LIMIT) {
+            TypeTraversal.append(builder, this);
+            return;
+        }
+        TypeUtil.append(builder, raw);
         for (var tag : tags) {
             builder.append(':').append(tag);
         }
-        return builder.toString();
+    }
+
+    @Override
+    public String getTypeName() {
+        var ret = name;
+        if (ret == null) {
+            var builder = new StringBuilder();
+            appendTo(builder);
+            ret = builder.toString();
+            name = ret;
+        }
+        return ret;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        if (o instanceof TaggedTypeImpl) {
+            var that = (TaggedTypeImpl) o;
+            if (hashCode() != that.hashCode()) return false;
+            if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, that);
+            if (tagHash != that.tagHash || !raw.equals(that.raw)) return false;
+            return unordered ? equalTags(that) : !that.unordered && Arrays.equals(tags, that.tags);
+        }
         if (!(o instanceof TaggedType)) return false;
+        if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, (TaggedType) o);
         var that = (TaggedType) o;
-        return raw.equals(that.getRawType()) && Arrays.equals(tags, that.getTags());
+        return raw.equals(that.getRawType()) && equalTags(that);
     }
 
     @Override
     public int hashCode() {
-        return 31 * raw.hashCode() + Arrays.hashCode(tags);
+        var ret = hash;
+        if (ret == 0) {
+            ret = depth > TypeTraversal.RECURSION_LIMIT
+                    ? TypeTraversal.hashCode(this)
+                    : 31 * raw.hashCode() + tagHash;
+            hash = ret;
+        }
+        return ret;
     }
 
     @Override
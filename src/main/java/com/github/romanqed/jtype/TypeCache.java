@@ -0,0 +1,440 @@
+package com.github.romanqed.jtype;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.*;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded concurrent cache. The entries of the anchored caches are stored in maps attached with {@link ClassValue}
+ * to the anchor classes of their keys, so each entry is strongly reachable only while its anchor class is alive
+ * and never pins its class loader. The entries of the other caches belong to the cache itself.
+ * <br>
+ * When the cache is full, the entries are evicted with the CLOCK algorithm, which approximates LRU:
+ * the entries used since the previous sweep get a second chance.
+ */
+final class TypeCache<K, V> {
+    private static final System.Logger LOGGER = System.getLogger(TypeCache.class.getName());
+    private static final boolean SOFT = parseValues(System.getProperty(Caches.VALUES));
+
+    private final String name;
+    private final int capacity;
+    private final Function<? super K, Class<?>> anchor;
+    private final ConcurrentHashMap<K, Entry<K, V>> root;
+    private final ClassValue<ConcurrentHashMap<K, Entry<K, V>>> segments;
+    // All live entries in the order of their insertion, the clock hand is the head
+    private final ConcurrentLinkedQueue<Slot<K, V>> ring;
+    // The length of the ring, which is not tracked by the queue itself
+    private final AtomicInteger slots;
+    private final ReferenceQueue<Entry<K, V>> queue;
+    private final ReentrantLock lock;
+    private final AtomicInteger size;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder collections;
+
+    TypeCache(String name, int capacity, Function<? super K, Class<?>> anchor) {
+        // The capacity of named caches can be overridden
+        if (name != null) {
+            capacity = parseCapacity(name, capacity);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Cache capacity must be non-negative");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.anchor = anchor;
+        this.root = anchor == null ? new ConcurrentHashMap<>() : null;
+        this.segments = anchor == null ? null : new ClassValue<>() {
+            @Override
+            protected ConcurrentHashMap<K, Entry<K, V>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+        this.ring = new ConcurrentLinkedQueue<>();
+        this.slots = new AtomicInteger();
+        this.queue = new ReferenceQueue<>();
+        this.lock = new ReentrantLock();
+        this.size = new AtomicInteger();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.collections = new LongAdder();
+        // Anonymous caches belong to their owners and are not reported
+        if (name != null) {
+            Caches.register(this);
+        }
+    }
+
+    TypeCache(String name, int capacity) {
+        this(name, capacity, null);
+    }
+
+    TypeCache(int capacity) {
+        this(null, capacity, null);
+    }
+
+    // The misconfigured properties must not break the initialization of the classes using the caches
+    static boolean parseValues(String value) {
+        if (value == null) {
+            return false;
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "strong":
+                return false;
+            case "soft":
+                return true;
+            default:
+                LOGGER.log(System.Logger.Level.WARNING, "Unknown " + Caches.VALUES + ": " + value + ", using strong");
+                return false;
+        }
+    }
+
+    static int parseCapacity(String name, int capacity) {
+        var property = Caches.PREFIX + name + ".capacity";
+        var value = System.getProperty(property);
+        if (value == null) {
+            return capacity;
+        }
+        try {
+            var ret = Integer.parseInt(value.trim());
+            if (ret >= 0) {
+                return ret;
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the warning
+        }
+        LOGGER.log(System.Logger.Level.WARNING, "Illegal " + property + ": " + value + ", using " + capacity);
+        return capacity;
+    }
+
+    private static int depthOf(ClassLoader loader) {
+        var ret = 0;
+        for (; loader != null; loader = loader.getParent()) {
+            ++ret;
+        }
+        return ret;
+    }
+
+    private static Class<?> declaringClassOf(TypeVariable<?> variable) {
+        var declaration = variable.getGenericDeclaration();
+        if (declaration instanceof Class) {
+            return (Class<?>) declaration;
+        }
+        return ((Member) declaration).getDeclaringClass();
+    }
+
+    /**
+     * Returns the class, whose loader is the deepest among the loaders of the classes the type refers to,
+     * including the classes of tags. Unless the type mixes the classes of unrelated loaders,
+     * all of them are visible from the returned class. The anchors of jtype implementations are memoized,
+     * so the lookups keyed by them do not traverse the types.
+     */
+    static Class<?> anchorOf(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).anchor();
+        }
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).anchor();
+        }
+        if (type instanceof WildcardTypeImpl) {
+            return ((WildcardTypeImpl) type).anchor();
+        }
+        if (type instanceof TaggedTypeImpl) {
+            return ((TaggedTypeImpl) type).anchor();
+        }
+        return findAnchor(type);
+    }
+
+    static Class<?> anchorOf(Type first, Type second) {
+        var ret = anchorOf(first);
+        var other = anchorOf(second);
+        return depthOf(other.getClassLoader()) > depthOf(ret.getClassLoader()) ? other : ret;
+    }
+
+    static Class<?> findAnchor(Type type) {
+        var stack = new ArrayDeque<Object>();
+        stack.push(type);
+        return anchorOf(stack);
+    }
+
+    private static Class<?> anchorOf(ArrayDeque<Object> stack) {
+        Class<?> ret = Object.class;
+        var depth = 0;
+        while (!stack.isEmpty()) {
+            var current = stack.pop();
+            Class<?> found;
+            if (current instanceof Class) {
+                found = (Class<?>) current;
+            } else if (current instanceof ParameterizedType) {
+                var parameterized = (ParameterizedType) current;
+                if (parameterized.getOwnerType() != null) {
+                    stack.push(parameterized.getOwnerType());
+                }
+                stack.push(parameterized.getRawType());
+                for (var argument : ParameterizedTypeImpl.argumentsOf(parameterized)) {
+                    stack.push(argument);
+                }
+                continue;
+            } else if (current instanceof GenericArrayType) {
+                stack.push(((GenericArrayType) current).getGenericComponentType());
+                continue;
+            } else if (current instanceof WildcardType) {
+                var wildcard = (WildcardType) current;
+                for (var bound : wildcard.getUpperBounds()) {
+                    stack.push(bound);
+                }
+                for (var bound : wildcard.getLowerBounds()) {
+                    stack.push(bound);
+                }
+                continue;
+            } else if (current instanceof TaggedType) {
+                var tagged = (TaggedType) current;
+                stack.push(tagged.getRawType());
+                var count = tagged.getTagCount();
+                for (var i = 0; i < count; ++i) {
+                    var tag = tagged.getTag(i);
+                    if (tag != null) {
+                        stack.push(tag.getClass());
+                    }
+                }
+                continue;
+            } else if (current instanceof TypeVariable) {
+                found = declaringClassOf((TypeVariable<?>) current);
+            } else {
+                // Unknown implementations are anchored by their own classes
+                found = current.getClass();
+            }
+            var loader = found.getClassLoader();
+            if (loader == null) {
+                continue;
+            }
+            var loaderDepth = depthOf(loader);
+            if (loaderDepth > depth) {
+                ret = found;
+                depth = loaderDepth;
+            }
+        }
+        return ret;
+    }
+
+    private ConcurrentHashMap<K, Entry<K, V>> segmentOf(K key) {
+        return anchor == null ? root : segments.get(anchor.apply(key));
+    }
+
+    private void expunge() {
+        // The slots of the entries collected together with their anchor classes
+        while (queue.poll() != null) {
+            size.decrementAndGet();
+            collections.increment();
+        }
+    }
+
+    private boolean remove(Entry<K, V> entry, LongAdder counter) {
+        if (!entry.segment.remove(entry.key, entry)) {
+            return false;
+        }
+        // Cleared references are not enqueued, so the entry is not counted as collected
+        entry.slot.clear();
+        size.decrementAndGet();
+        if (counter != null) {
+            counter.increment();
+        }
+        return true;
+    }
+
+    private void evict() {
+        if (!lock.tryLock()) {
+            // Another thread is already evicting
+            return;
+        }
+        try {
+            // Removes entries until a quarter of the capacity is free
+            var threshold = capacity - capacity / 4;
+            // Each entry is visited at most twice: to take its second chance and to be evicted
+            var steps = 2L * slots.get();
+            while (size.get() > threshold && steps-- > 0) {
+                var slot = ring.poll();
+                if (slot == null) {
+                    return;
+                }
+                slots.decrementAndGet();
+                var entry = slot.get();
+                if (entry == null) {
+                    // Already removed or collected
+                    continue;
+                }
+                if (entry.used) {
+                    entry.used = false;
+                    offer(slot);
+                    continue;
+                }
+                remove(entry, evictions);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void offer(Slot<K, V> slot) {
+        slots.incrementAndGet();
+        ring.offer(slot);
+    }
+
+    private void purge() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            // The slots of the removed and collected entries are only dropped by the clock hand,
+            // which does not move while the cache is not full
+            ring.removeIf(slot -> {
+                if (slot.get() != null) {
+                    return false;
+                }
+                slots.decrementAndGet();
+                return true;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V find(ConcurrentHashMap<K, Entry<K, V>> segment, K key) {
+        var entry = segment.get(key);
+        if (entry == null) {
+            return null;
+        }
+        var ret = entry.value();
+        if (ret == null) {
+            // The soft value has been cleared by the garbage collector
+            remove(entry, collections);
+            return null;
+        }
+        if (!entry.used) {
+            entry.used = true;
+        }
+        return ret;
+    }
+
+    // The misses are counted by computeIfAbsent, which always follows the failed lookups
+    V get(K key) {
+        var ret = find(segmentOf(key), key);
+        if (ret != null) {
+            hits.increment();
+        }
+        return ret;
+    }
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        var segment = segmentOf(key);
+        var ret = find(segment, key);
+        if (ret != null) {
+            hits.increment();
+            return ret;
+        }
+        misses.increment();
+        // The value is computed outside the map, so the function is allowed to use this cache recursively
+        ret = function.apply(key);
+        if (capacity == 0) {
+            return ret;
+        }
+        expunge();
+        if (size.get() >= capacity) {
+            evict();
+        }
+        var entry = new Entry<K, V>(segment, key, SOFT ? new SoftReference<>(ret) : ret, queue);
+        while (true) {
+            var present = segment.putIfAbsent(key, entry);
+            if (present == null) {
+                size.incrementAndGet();
+                offer(entry.slot);
+                if (slots.get() > 2 * capacity) {
+                    purge();
+                }
+                return ret;
+            }
+            var value = present.value();
+            if (value != null) {
+                return value;
+            }
+            remove(present, collections);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void clear() {
+        Slot<K, V> slot;
+        while ((slot = ring.poll()) != null) {
+            slots.decrementAndGet();
+            var entry = slot.get();
+            if (entry != null) {
+                remove(entry, null);
+            }
+        }
+    }
+
+    int size() {
+        expunge();
+        return size.get();
+    }
+
+    CacheStats getStats() {
+        return new CacheStats(
+                name,
+                size(),
+                capacity,
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                collections.sum()
+        );
+    }
+
+    private static final class Entry<K, V> {
+        private final ConcurrentHashMap<K, Entry<K, V>> segment;
+        private final K key;
+        // The value itself or its soft reference
+        private final Object value;
+        private final Slot<K, V> slot;
+        private volatile boolean used;
+
+        private Entry(ConcurrentHashMap<K, Entry<K, V>> segment, K key, Object value, ReferenceQueue<Entry<K, V>> queue) {
+            this.segment = segment;
+            this.key = key;
+            this.value = value;
+            // Never enqueued if the entry is not stored, since the slot is unreachable as well
+            this.slot = new Slot<>(this, queue);
+        }
+
+        @SuppressWarnings("unchecked")
+        private V value() {
+            if (value instanceof SoftReference) {
+                return ((SoftReference<V>) value).get();
+            }
+            return (V) value;
+        }
+    }
+
+    // Does not keep the entry alive, so the entries of unloaded classes are collected with them
+    private static final class Slot<K, V> extends WeakReference<Entry<K, V>> {
+        private Slot(Entry<K, V> entry, ReferenceQueue<Entry<K, V>> queue) {
+            super(entry, queue);
+        }
+    }
+}
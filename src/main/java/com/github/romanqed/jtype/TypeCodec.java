@@ -0,0 +1,599 @@
+package com.github.romanqed.jtype;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * A codec that converts types into a compact binary form and back.
+ * Unlike java serialization, the format does not depend on the implementations of types:
+ * classes are written by their names, each name is written once and then referenced by index,
+ * and repeated subtrees are written as back-references.
+ * All numbers are encoded as variable-length integers.
+ * <br>
+ * The codec supports classes, {@link ParameterizedType}, {@link GenericArrayType}, {@link WildcardType}
+ * and {@link TaggedType} instances. Type variables are not supported.
+ * Tags can be null, strings, integers, longs, booleans or enum constants, and both ordered and unordered tags are preserved.
+ * The decoded types are jtype implementations, and the classes are found using the specified {@link ClassResolver}.
+ */
+public final class TypeCodec {
+    private static final int VERSION = 1;
+    // The initial capacity of the decoded arrays, so malformed lengths do not allocate memory in advance
+    private static final int CHUNK = 16;
+    // Node kinds
+    private static final int NULL = 0;
+    private static final int CLASS = 1;
+    private static final int ARRAY_CLASS = 2;
+    private static final int PARAMETERIZED = 3;
+    private static final int GENERIC_ARRAY = 4;
+    private static final int WILDCARD = 5;
+    private static final int TAGGED = 6;
+    private static final int REFERENCE = 7;
+    private static final int UNORDERED_TAGGED = 8;
+    // Tag kinds
+    private static final int NULL_TAG = 0;
+    private static final int STRING_TAG = 1;
+    private static final int INTEGER_TAG = 2;
+    private static final int LONG_TAG = 3;
+    private static final int BOOLEAN_TAG = 4;
+    private static final int ENUM_TAG = 5;
+
+    private final ClassResolver resolver;
+
+    /**
+     * Constructs {@link TypeCodec} instance with the specified class resolver.
+     *
+     * @param resolver the specified {@link ClassResolver} instance, must be non-null
+     */
+    public TypeCodec(ClassResolver resolver) {
+        this.resolver = Objects.requireNonNull(resolver);
+    }
+
+    /**
+     * Constructs {@link TypeCodec} instance, that loads classes using the specified class loader.
+     *
+     * @param loader the specified class loader, must be non-null
+     */
+    public TypeCodec(ClassLoader loader) {
+        this(ClassResolver.of(loader));
+    }
+
+    /**
+     * Encodes the specified type into a byte array.
+     *
+     * @param type the specified type, must be non-null
+     * @return the encoded bytes
+     * @throws IllegalTypeException if the type or its components are not supported
+     */
+    public byte[] encode(Type type) {
+        Objects.requireNonNull(type);
+        var encoder = new Encoder();
+        encoder.writeVarInt(VERSION);
+        encoder.writeType(type);
+        return Arrays.copyOf(encoder.buffer, encoder.length);
+    }
+
+    /**
+     * Writes the encoded form of the specified type to the specified buffer.
+     *
+     * @param type   the specified type, must be non-null
+     * @param buffer the specified {@link ByteBuffer} instance, must be non-null
+     * @throws IllegalTypeException             if the type or its components are not supported
+     * @throws java.nio.BufferOverflowException if there is insufficient space in the buffer
+     */
+    public void write(Type type, ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        buffer.put(encode(type));
+    }
+
+    /**
+     * Writes the encoded form of the specified type to the specified stream.
+     *
+     * @param type   the specified type, must be non-null
+     * @param stream the specified {@link OutputStream} instance, must be non-null
+     * @throws IOException          if an I/O error occurs
+     * @throws IllegalTypeException if the type or its components are not supported
+     */
+    public void write(Type type, OutputStream stream) throws IOException {
+        Objects.requireNonNull(stream);
+        stream.write(encode(type));
+    }
+
+    /**
+     * Decodes a type from the specified byte array.
+     *
+     * @param bytes the specified byte array, must be non-null
+     * @return decoded {@link Type} instance
+     * @throws IllegalArgumentException if the data is malformed or contains unknown classes
+     */
+    public Type decode(byte[] bytes) {
+        Objects.requireNonNull(bytes);
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads a type from the specified buffer.
+     * The position of the buffer is moved to the end of the encoded type.
+     *
+     * @param buffer the specified {@link ByteBuffer} instance, must be non-null
+     * @return decoded {@link Type} instance
+     * @throws IllegalArgumentException if the data is malformed or contains unknown classes
+     */
+    public Type read(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        try {
+            return new Decoder(new Source() {
+                @Override
+                public int read() {
+                    return buffer.get() & 0xFF;
+                }
+
+                @Override
+                public int remaining() {
+                    return buffer.remaining();
+                }
+            }).read();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Unexpected end of data", e);
+        } catch (IOException e) {
+            // Impossible, buffers do not throw I/O exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a type from the specified stream.
+     * Exactly the bytes of the encoded type are consumed from the stream.
+     *
+     * @param stream the specified {@link InputStream} instance, must be non-null
+     * @return decoded {@link Type} instance
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the data is malformed or contains unknown classes
+     */
+    public Type read(InputStream stream) throws IOException {
+        Objects.requireNonNull(stream);
+        return new Decoder(stream::read).read();
+    }
+
+    private interface Source {
+        // Returns -1 at the end of data
+        int read() throws IOException;
+
+        // Streams do not know the remaining length, so the arrays are allocated as the data arrives
+        default int remaining() {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static final class Encoder {
+        private final HashMap<Class<?>, Integer> classes;
+        private final HashMap<Type, Integer> types;
+        private byte[] buffer;
+        private int length;
+
+        private Encoder() {
+            this.classes = new HashMap<>();
+            this.types = new HashMap<>();
+            this.buffer = new byte[64];
+        }
+
+        private void writeByte(int value) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private void writeString(String value) {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            for (var b : bytes) {
+                writeByte(b);
+            }
+        }
+
+        private void writeClassName(Class<?> type) {
+            var index = classes.get(type);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            writeVarInt(0);
+            writeString(type.getName());
+            classes.put(type, classes.size());
+        }
+
+        private void writeClass(Class<?> type) {
+            if (!type.isArray()) {
+                writeByte(CLASS);
+                writeClassName(type);
+                return;
+            }
+            var dimension = 0;
+            while (type.isArray()) {
+                type = type.getComponentType();
+                ++dimension;
+            }
+            writeByte(ARRAY_CLASS);
+            writeVarInt(dimension);
+            writeClassName(type);
+        }
+
+        private void writeTypes(Type[] types) {
+            writeVarInt(types.length);
+            for (var type : types) {
+                writeType(type);
+            }
+        }
+
+        private void writeTag(TaggedType type, Object tag) {
+            if (tag == null) {
+                writeByte(NULL_TAG);
+            } else if (tag instanceof String) {
+                writeByte(STRING_TAG);
+                writeString((String) tag);
+            } else if (tag instanceof Integer) {
+                writeByte(INTEGER_TAG);
+                var value = (int) tag;
+                writeVarInt((value << 1) ^ (value >> 31));
+            } else if (tag instanceof Long) {
+                writeByte(LONG_TAG);
+                var value = (long) tag;
+                writeVarLong((value << 1) ^ (value >> 63));
+            } else if (tag instanceof Boolean) {
+                writeByte(BOOLEAN_TAG);
+                writeByte((boolean) tag ? 1 : 0);
+            } else if (tag instanceof Enum) {
+                writeByte(ENUM_TAG);
+                var constant = (Enum<?>) tag;
+                writeClassName(constant.getDeclaringClass());
+                writeString(constant.name());
+            } else {
+                throw new IllegalTypeException("Unsupported tag: " + tag, type);
+            }
+        }
+
+        private void writeType(Type type) {
+            if (type == null) {
+                writeByte(NULL);
+                return;
+            }
+            if (type instanceof Class) {
+                writeClass((Class<?>) type);
+                return;
+            }
+            var index = types.get(type);
+            if (index != null) {
+                writeByte(REFERENCE);
+                writeVarInt(index);
+                return;
+            }
+            if (type instanceof ParameterizedType) {
+                var parameterized = (ParameterizedType) type;
+                if (!(parameterized.getRawType() instanceof Class)) {
+                    throw new IllegalTypeException("Raw type must be a class", type);
+                }
+                writeByte(PARAMETERIZED);
+                writeType(parameterized.getOwnerType());
+                writeType(parameterized.getRawType());
+                writeTypes(parameterized.getActualTypeArguments());
+            } else if (type instanceof GenericArrayType) {
+                writeByte(GENERIC_ARRAY);
+                writeType(((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof WildcardType) {
+                var wildcard = (WildcardType) type;
+                writeByte(WILDCARD);
+                writeTypes(wildcard.getUpperBounds());
+                writeTypes(wildcard.getLowerBounds());
+            } else if (type instanceof TaggedType) {
+                var tagged = (TaggedType) type;
+                writeByte(tagged.isOrdered() ? TAGGED : UNORDERED_TAGGED);
+                writeType(tagged.getRawType());
+                var count = tagged.getTagCount();
+                writeVarInt(count);
+                for (var i = 0; i < count; ++i) {
+                    writeTag(tagged, tagged.getTag(i));
+                }
+            } else if (type instanceof TypeVariable) {
+                throw new IllegalTypeException("Type variables are not supported", type);
+            } else {
+                throw new IllegalTypeException("Unexpected type implementation", type);
+            }
+            // The indices are assigned after the subtree is written, the decoder assigns them in the same order
+            types.put(type, types.size());
+        }
+    }
+
+    private final class Decoder {
+        private final Source source;
+        private final ArrayList<Class<?>> classes;
+        private final ArrayList<Type> types;
+
+        private Decoder(Source source) {
+            this.source = source;
+            this.classes = new ArrayList<>();
+            this.types = new ArrayList<>();
+        }
+
+        private int readByte() throws IOException {
+            var ret = source.read();
+            if (ret < 0) {
+                throw new IllegalArgumentException("Unexpected end of data");
+            }
+            return ret;
+        }
+
+        private int readLength() throws IOException {
+            var ret = readVarInt();
+            // Each element takes at least one byte
+            if (ret < 0 || ret > source.remaining()) {
+                throw new IllegalArgumentException("Illegal length: " + ret);
+            }
+            return ret;
+        }
+
+        private int readVarInt() throws IOException {
+            var ret = 0;
+            for (var shift = 0; shift < 32; shift += 7) {
+                var b = readByte();
+                ret |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return ret;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer");
+        }
+
+        private long readVarLong() throws IOException {
+            var ret = 0L;
+            for (var shift = 0; shift < 64; shift += 7) {
+                var b = readByte();
+                ret |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return ret;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable-length integer");
+        }
+
+        private String readString() throws IOException {
+            var length = readLength();
+            var bytes = new byte[Math.min(length, CHUNK)];
+            for (var i = 0; i < length; ++i) {
+                if (i == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.min(length, i * 2));
+                }
+                bytes[i] = (byte) readByte();
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private Class<?> readClassName() throws IOException {
+            var index = readVarInt();
+            if (index != 0) {
+                if (index > classes.size()) {
+                    throw new IllegalArgumentException("Illegal class reference: " + index);
+                }
+                return classes.get(index - 1);
+            }
+            var name = readString();
+            var ret = TypeUtil.getPrimitive(name);
+            if (ret == null) {
+                try {
+                    ret = resolver.resolve(name);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Unknown class: " + name, e);
+                }
+            }
+            classes.add(ret);
+            return ret;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readTag() throws IOException {
+            var kind = readByte();
+            switch (kind) {
+                case NULL_TAG:
+                    return null;
+                case STRING_TAG:
+                    return readString();
+                case INTEGER_TAG:
+                    var value = readVarInt();
+                    return (value >>> 1) ^ -(value & 1);
+                case LONG_TAG:
+                    var longValue = readVarLong();
+                    return (longValue >>> 1) ^ -(longValue & 1);
+                case BOOLEAN_TAG:
+                    return readByte() != 0;
+                case ENUM_TAG:
+                    var type = readClassName();
+                    if (!type.isEnum()) {
+                        throw new IllegalArgumentException("Not an enum: " + type.getName());
+                    }
+                    return Enum.valueOf((Class) type, readString());
+                default:
+                    throw new IllegalArgumentException("Unknown tag kind: " + kind);
+            }
+        }
+
+        private Object[] readTags() throws IOException {
+            var length = readLength();
+            var ret = new Object[Math.min(length, CHUNK)];
+            for (var i = 0; i < length; ++i) {
+                if (i == ret.length) {
+                    ret = Arrays.copyOf(ret, Math.min(length, i * 2));
+                }
+                ret[i] = readTag();
+            }
+            return ret;
+        }
+
+        // Reads a leaf node or returns the frame of a composite one, whose components follow it
+        private Object readNode() throws IOException {
+            var kind = readByte();
+            switch (kind) {
+                case NULL:
+                    return null;
+                case CLASS:
+                    return readClassName();
+                case ARRAY_CLASS:
+                    var dimension = readVarInt();
+                    if (dimension < 1 || dimension > TypeUtil.MAX_DIMENSION) {
+                        throw new IllegalArgumentException("Illegal array dimension: " + dimension);
+                    }
+                    return TypeUtil.innerGetArrayType(readClassName(), dimension);
+                case REFERENCE:
+                    var index = readVarInt();
+                    if (index < 0 || index >= types.size()) {
+                        throw new IllegalArgumentException("Illegal type reference: " + index);
+                    }
+                    return types.get(index);
+                case PARAMETERIZED:
+                    // Owner and raw type
+                    return new Frame(kind, 2);
+                case GENERIC_ARRAY:
+                case TAGGED:
+                case UNORDERED_TAGGED:
+                    return new Frame(kind, 1);
+                case WILDCARD:
+                    var uppers = readLength();
+                    if (uppers == 0) {
+                        throw new IllegalArgumentException("Wildcard without upper bounds");
+                    }
+                    return new Frame(kind, uppers);
+                default:
+                    throw new IllegalArgumentException("Unknown type kind: " + kind);
+            }
+        }
+
+        private Type readType() throws IOException {
+            // The explicit stack of the composite nodes, so the deeply nested data is safe
+            var stack = new ArrayDeque<Frame>();
+            while (true) {
+                var node = readNode();
+                if (node instanceof Frame) {
+                    if (stack.size() == Types.MAX_DEPTH) {
+                        throw new IllegalArgumentException("Type nesting exceeds " + Types.MAX_DEPTH);
+                    }
+                    stack.push((Frame) node);
+                    continue;
+                }
+                var ret = (Type) node;
+                // Passes the read type to its parents, completing them
+                while (!stack.isEmpty()) {
+                    var frame = stack.peek();
+                    if (frame.add(ret)) {
+                        break;
+                    }
+                    stack.pop();
+                    ret = frame.build();
+                    types.add(ret);
+                }
+                if (stack.isEmpty()) {
+                    return ret;
+                }
+            }
+        }
+
+        private Type read() throws IOException {
+            var version = readVarInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported format version: " + version);
+            }
+            var ret = readType();
+            if (ret == null) {
+                throw new IllegalArgumentException("Unexpected null type");
+            }
+            return ret;
+        }
+
+        // The composite node, whose components are being read
+        private final class Frame {
+            private final int kind;
+            private Type[] parts;
+            private int count;
+            // The number of components known so far, extended as their lengths are read
+            private int expected;
+            // The number of upper bounds of wildcards
+            private int split;
+
+            private Frame(int kind, int expected) {
+                this.kind = kind;
+                this.parts = new Type[Math.min(expected, CHUNK)];
+                this.expected = expected;
+            }
+
+            // Returns true if more components are expected
+            private boolean add(Type part) throws IOException {
+                // Only the owners of parameterized types can be null
+                if (part == null && (kind != PARAMETERIZED || count != 0)) {
+                    throw new IllegalArgumentException("Unexpected null type");
+                }
+                if (kind == PARAMETERIZED && count == 1 && !(part instanceof Class)) {
+                    throw new IllegalArgumentException("Raw type must be a class: " + part);
+                }
+                if (count == parts.length) {
+                    parts = Arrays.copyOf(parts, Math.min(expected, count * 2));
+                }
+                parts[count++] = part;
+                if (count < expected) {
+                    return true;
+                }
+                if (kind == PARAMETERIZED && count == 2) {
+                    expected += readLength();
+                } else if (kind == WILDCARD && split == 0) {
+                    split = count;
+                    expected += readLength();
+                }
+                return count < expected;
+            }
+
+            private Type build() throws IOException {
+                try {
+                    switch (kind) {
+                        case PARAMETERIZED:
+                            return new ParameterizedTypeImpl(parts[0], parts[1], Arrays.copyOfRange(parts, 2, count));
+                        case GENERIC_ARRAY:
+                            return new GenericArrayTypeImpl(parts[0]);
+                        case WILDCARD:
+                            return new WildcardTypeImpl(
+                                    Arrays.copyOf(parts, split),
+                                    Arrays.copyOfRange(parts, split, count)
+                            );
+                        case TAGGED:
+                            return new TaggedTypeImpl(parts[0], readTags());
+                        default:
+                            return new TaggedTypeImpl(parts[0], TaggedTypeImpl.normalize(readTags()), true);
+                    }
+                } catch (IllegalTypeException e) {
+                    throw new IllegalArgumentException(e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class TypeHierarchy {
+    private static final int CAPACITY = 1024;
+    private static final TypeCache<Type, TypeHierarchy> HIERARCHIES = new TypeCache<>("hierarchies", CAPACITY, TypeCache::anchorOf);
+    // Marks the classes that are not supertypes, since the map does not allow null values
+    private static final Type[] MISSING = new Type[0];
+
+    private final Type type;
+    private final Class<?> raw;
+    private final ConcurrentHashMap<Class<?>, Type[]> arguments;
+    private volatile List<Type> supertypes;
+    private volatile List<Type> interfaces;
+
+    private TypeHierarchy(Type type) {
+        this.type = type;
+        this.raw = TypeUtil.innerGetRawType(type);
+        this.arguments = new ConcurrentHashMap<>();
+    }
+
+    static TypeHierarchy of(Type type) {
+        var ret = HIERARCHIES.get(type);
+        if (ret != null) {
+            return ret;
+        }
+        return HIERARCHIES.computeIfAbsent(Types.innerIntern(type), TypeHierarchy::new);
+    }
+
+    private Type resolve(Class<?> supertype) {
+        return Types.innerIntern(TypeResolver.innerGetSupertype(type, supertype));
+    }
+
+    private List<Type> resolve(Class<?>[] classes) {
+        var length = classes.length;
+        if (length == 0) {
+            return List.of();
+        }
+        var ret = new Type[length];
+        for (var i = 0; i < length; ++i) {
+            ret[i] = resolve(classes[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(ret));
+    }
+
+    List<Type> getSupertypes() {
+        var ret = supertypes;
+        if (ret == null) {
+            var count = 0;
+            for (var clazz = raw.getSuperclass(); clazz != null; clazz = clazz.getSuperclass()) {
+                ++count;
+            }
+            var classes = new Class<?>[count];
+            var clazz = raw;
+            for (var i = 0; i < count; ++i) {
+                clazz = clazz.getSuperclass();
+                classes[i] = clazz;
+            }
+            ret = resolve(classes);
+            supertypes = ret;
+        }
+        return ret;
+    }
+
+    List<Type> getInterfaces() {
+        var ret = interfaces;
+        if (ret == null) {
+            var found = new LinkedHashSet<Class<?>>();
+            for (var clazz = raw; clazz != null; clazz = clazz.getSuperclass()) {
+                Collections.addAll(found, clazz.getInterfaces());
+            }
+            // The set is extended during the iteration, so the super interfaces are collected breadth-first
+            var queue = new ArrayList<>(found);
+            for (var i = 0; i < queue.size(); ++i) {
+                for (var parent : queue.get(i).getInterfaces()) {
+                    if (found.add(parent)) {
+                        queue.add(parent);
+                    }
+                }
+            }
+            ret = resolve(queue.toArray(new Class<?>[0]));
+            interfaces = ret;
+        }
+        return ret;
+    }
+
+    Type[] getTypeArguments(Class<?> supertype) {
+        var ret = arguments.get(supertype);
+        if (ret == null) {
+            ret = arguments.computeIfAbsent(supertype, key -> {
+                var resolved = resolve(key);
+                if (resolved == null) {
+                    return MISSING;
+                }
+                if (resolved instanceof ParameterizedType) {
+                    return ((ParameterizedType) resolved).getActualTypeArguments();
+                }
+                return Types.EMPTY_ARRAY;
+            });
+        }
+        return ret == MISSING ? null : ret;
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An index that finds the most specific registered entry for a type.
+ * For example, if the entries are registered for {@code List<? extends Number>}, {@code Collection<?>}
+ * and {@code Object}, the entry for {@code List<? extends Number>} will be found for {@code ArrayList<Integer>}.
+ * The assignability is checked using {@link Assignability#isAssignable(Type, Type)}.
+ * If there are several most specific entries that are not comparable to each other, one of them is returned.
+ * <br>
+ * The results of the lookups are memoized and are discarded on each registration,
+ * so repeated lookups of the same type are table lookups. Lookups do not require locking.
+ *
+ * @param <V> the type of registered values
+ */
+public final class TypeIndex<V> {
+    /**
+     * The maximum number of memoized lookup results used by default.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final Object MISSING = new Object();
+
+    private final int capacity;
+    private volatile State state;
+
+    /**
+     * Constructs an empty {@link TypeIndex} instance with the specified maximum number of memoized results.
+     *
+     * @param capacity the specified maximum number of memoized results, must be positive
+     */
+    public TypeIndex(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.state = new State(new Entry[0], capacity);
+    }
+
+    /**
+     * Constructs an empty {@link TypeIndex} instance with the default maximum number of memoized results.
+     */
+    public TypeIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int indexOf(Entry[] entries, Type type) {
+        var length = entries.length;
+        for (var i = 0; i < length; ++i) {
+            if (entries[i].type.equals(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Registers the specified value for the specified type, replacing the previously registered value.
+     *
+     * @param type  the specified type, must be non-null
+     * @param value the specified value, must be non-null
+     * @return the previous value or null, if there was no value registered for the type
+     */
+    public synchronized V register(Type type, V value) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(value);
+        var entries = state.entries;
+        var index = indexOf(entries, type);
+        var entry = new Entry(Types.innerIntern(type), value);
+        Object ret = null;
+        if (index < 0) {
+            entries = Arrays.copyOf(entries, entries.length + 1);
+            entries[entries.length - 1] = entry;
+        } else {
+            ret = entries[index].value;
+            entries = entries.clone();
+            entries[index] = entry;
+        }
+        state = new State(entries, capacity);
+        return cast(ret);
+    }
+
+    /**
+     * Registers the specified value for the type stored in the specified {@link JType} instance.
+     *
+     * @param type  the specified {@link JType} instance, must be non-null
+     * @param value the specified value, must be non-null
+     * @return the previous value or null, if there was no value registered for the type
+     */
+    public V register(JType<?> type, V value) {
+        return register(type.getType(), value);
+    }
+
+    /**
+     * Removes the value registered for the specified type.
+     *
+     * @param type the specified type, must be non-null
+     * @return the removed value or null, if there was no value registered for the type
+     */
+    public synchronized V unregister(Type type) {
+        Objects.requireNonNull(type);
+        var entries = state.entries;
+        var index = indexOf(entries, type);
+        if (index < 0) {
+            return null;
+        }
+        var ret = entries[index].value;
+        var length = entries.length;
+        var updated = new Entry[length - 1];
+        System.arraycopy(entries, 0, updated, 0, index);
+        System.arraycopy(entries, index + 1, updated, index, length - index - 1);
+        state = new State(updated, capacity);
+        return cast(ret);
+    }
+
+    /**
+     * Finds the value registered for the most specific type, to which the specified type is assignable.
+     *
+     * @param type the specified type, must be non-null
+     * @return the found value or null, if there is no suitable entry
+     */
+    public V find(Type type) {
+        Objects.requireNonNull(type);
+        // The snapshot is used as a whole, so results computed for the outdated entries are never memoized
+        var state = this.state;
+        var ret = state.results.computeIfAbsent(type, state::lookup);
+        return ret == MISSING ? null : cast(ret);
+    }
+
+    /**
+     * Finds the value registered for the most specific type, to which the type stored
+     * in the specified {@link JType} instance is assignable.
+     *
+     * @param type the specified {@link JType} instance, must be non-null
+     * @return the found value or null, if there is no suitable entry
+     */
+    public V find(JType<?> type) {
+        return find(type.getType());
+    }
+
+    /**
+     * Returns the number of registered entries.
+     *
+     * @return the number of registered entries
+     */
+    public int size() {
+        return state.entries.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+
+    private static final class Entry {
+        private final Type type;
+        private final Object value;
+
+        private Entry(Type type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    private static final class State {
+        private final Entry[] entries;
+        private final TypeCache<Type, Object> results;
+
+        private State(Entry[] entries, int capacity) {
+            this.entries = entries;
+            this.results = new TypeCache<>(capacity);
+        }
+
+        private Object lookup(Type type) {
+            Entry found = null;
+            for (var entry : entries) {
+                if (!Assignability.innerIsAssignable(type, entry.type)) {
+                    continue;
+                }
+                // Each replaced entry is less specific, so the found one is always one of the most specific
+                if (found == null || Assignability.innerIsAssignable(entry.type, found.type)) {
+                    found = entry;
+                }
+            }
+            return found == null ? MISSING : found.value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A concurrent map specialized for {@link Type} keys.
+ * The keys are interned on insertion (see {@link Types#intern(Type)}), so jdk and jtype implementations
+ * of the same type are the same key, and the stored keys are compared by reference when the interned
+ * instances are used for lookups. Lookups can be performed by {@link Type}, {@link Class}
+ * or {@link JType} instances interchangeably and require a single hash probe without locking.
+ * <br>
+ * Null keys and values are not allowed.
+ *
+ * @param <V> the type of mapped values
+ */
+public final class TypeMap<V> {
+    private final ConcurrentHashMap<Type, V> map;
+
+    /**
+     * Constructs an empty {@link TypeMap} instance.
+     */
+    public TypeMap() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Constructs an empty {@link TypeMap} instance with the specified initial capacity.
+     *
+     * @param capacity the specified initial capacity
+     */
+    public TypeMap(int capacity) {
+        this.map = new ConcurrentHashMap<>(capacity);
+    }
+
+    /**
+     * Returns the value to which the specified type is mapped.
+     *
+     * @param key the specified type, must be non-null
+     * @return the mapped value or null, if there is no mapping for the type
+     */
+    public V get(Type key) {
+        // Jtype implementations are compatible with the jdk ones in terms of equals and hashCode,
+        // so there is no need to canonicalize the key
+        return map.get(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Returns the value to which the type stored in the specified {@link JType} instance is mapped.
+     *
+     * @param key the specified {@link JType} instance, must be non-null
+     * @return the mapped value or null, if there is no mapping for the type
+     */
+    public V get(JType<?> key) {
+        return map.get(key.getType());
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified type.
+     *
+     * @param key the specified type, must be non-null
+     * @return true if the mapping exists, false otherwise
+     */
+    public boolean containsKey(Type key) {
+        return map.containsKey(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the type stored in the specified {@link JType} instance.
+     *
+     * @param key the specified {@link JType} instance, must be non-null
+     * @return true if the mapping exists, false otherwise
+     */
+    public boolean containsKey(JType<?> key) {
+        return map.containsKey(key.getType());
+    }
+
+    /**
+     * Maps the specified type to the specified value.
+     *
+     * @param key   the specified type, must be non-null
+     * @param value the specified value, must be non-null
+     * @return the previous value or null, if there was no mapping for the type
+     */
+    public V put(Type key, V value) {
+        Objects.requireNonNull(key);
+        return map.put(Types.innerIntern(key), value);
+    }
+
+    /**
+     * Maps the type stored in the specified {@link JType} instance to the specified value.
+     *
+     * @param key   the specified {@link JType} instance, must be non-null
+     * @param value the specified value, must be non-null
+     * @return the previous value or null, if there was no mapping for the type
+     */
+    public V put(JType<?> key, V value) {
+        return put(key.getType(), value);
+    }
+
+    /**
+     * Maps the specified type to the specified value, if the type is not already mapped.
+     *
+     * @param key   the specified type, must be non-null
+     * @param value the specified value, must be non-null
+     * @return the current value or null, if there was no mapping for the type
+     */
+    public V putIfAbsent(Type key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        var ret = map.get(key);
+        if (ret != null) {
+            return ret;
+        }
+        return map.putIfAbsent(Types.innerIntern(key), value);
+    }
+
+    /**
+     * Returns the value to which the specified type is mapped, or computes and maps it, if the type is not mapped.
+     *
+     * @param key      the specified type, must be non-null
+     * @param function the specified function computing the value, must be non-null
+     * @return the current or the computed value, or null, if the function returned null
+     */
+    public V computeIfAbsent(Type key, Function<? super Type, ? extends V> function) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(function);
+        var ret = map.get(key);
+        if (ret != null) {
+            return ret;
+        }
+        return map.computeIfAbsent(Types.innerIntern(key), function);
+    }
+
+    /**
+     * Removes the mapping for the specified type.
+     *
+     * @param key the specified type, must be non-null
+     * @return the removed value or null, if there was no mapping for the type
+     */
+    public V remove(Type key) {
+        return map.remove(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Removes the mapping for the type stored in the specified {@link JType} instance.
+     *
+     * @param key the specified {@link JType} instance, must be non-null
+     * @return the removed value or null, if there was no mapping for the type
+     */
+    public V remove(JType<?> key) {
+        return map.remove(key.getType());
+    }
+
+    /**
+     * Performs the specified action for each mapping of this map.
+     * The passed keys are interned types.
+     *
+     * @param action the specified action, must be non-null
+     */
+    public void forEach(BiConsumer<? super Type, ? super V> action) {
+        map.forEach(action);
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return the number of mappings
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns true if this map contains no mappings.
+     *
+     * @return true if the map is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Removes all the mappings.
+     */
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
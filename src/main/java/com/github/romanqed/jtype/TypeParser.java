@@ -0,0 +1,292 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A parser that constructs types from their names, as returned by {@link Type#getTypeName()}.
+ * The following syntax is supported:
+ * <br>
+ * 1) classes, primitives and arrays: "java.lang.String", "int", "java.lang.String[]", "[Ljava.lang.String;"
+ * <br>
+ * 2) parameterized types, including the jdk notation for owners: "java.util.Map$Entry&lt;A, B&gt;",
+ * "Outer&lt;A&gt;$Inner&lt;B&gt;"
+ * <br>
+ * 3) wildcards: "?", "? extends java.lang.Number", "? super java.lang.Integer"
+ * <br>
+ * 4) tagged types: "java.lang.String:Tag1:Tag2"
+ * <br>
+ * The parsed types are jtype implementations. Tags are always parsed as strings,
+ * and must not contain ',', ':' and '&gt;' characters. The names are parsed recursively,
+ * so the ones with type arguments and wildcards nested deeper than {@link #MAX_DEPTH} levels are rejected.
+ * The results are cached by the parsed name with least recently used eviction.
+ */
+public final class TypeParser {
+    /**
+     * The size of the cache used by default.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    /**
+     * The maximum nesting depth of the parsed types.
+     */
+    public static final int MAX_DEPTH = 256;
+
+    private final ClassResolver resolver;
+    private final Map<String, Type> cache;
+
+    /**
+     * Constructs {@link TypeParser} instance with the specified class resolver and cache size.
+     *
+     * @param resolver  the specified {@link ClassResolver} instance, must be non-null
+     * @param cacheSize the specified maximum number of cached types, 0 disables caching
+     */
+    public TypeParser(ClassResolver resolver, int cacheSize) {
+        this.resolver = Objects.requireNonNull(resolver);
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Illegal cache size: " + cacheSize);
+        }
+        this.cache = cacheSize == 0 ? null : new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Type> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Constructs {@link TypeParser} instance with the specified class resolver and the default cache size.
+     *
+     * @param resolver the specified {@link ClassResolver} instance, must be non-null
+     */
+    public TypeParser(ClassResolver resolver) {
+        this(resolver, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs {@link TypeParser} instance, that loads classes using the specified class loader.
+     *
+     * @param loader the specified class loader, must be non-null
+     */
+    public TypeParser(ClassLoader loader) {
+        this(ClassResolver.of(loader), DEFAULT_CACHE_SIZE);
+    }
+
+    private Class<?> resolve(String name) {
+        var ret = TypeUtil.getPrimitive(name);
+        if (ret != null) {
+            return ret;
+        }
+        try {
+            return resolver.resolve(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown class: " + name, e);
+        }
+    }
+
+    /**
+     * Parses the specified type name.
+     *
+     * @param name the specified type name, must be non-null
+     * @return parsed {@link Type} instance
+     * @throws IllegalArgumentException if the name is malformed or contains unknown classes
+     */
+    public Type parse(String name) {
+        Objects.requireNonNull(name);
+        if (cache == null) {
+            return new Reader(this, name).read();
+        }
+        Type ret;
+        synchronized (cache) {
+            ret = cache.get(name);
+        }
+        if (ret != null) {
+            return ret;
+        }
+        ret = new Reader(this, name).read();
+        synchronized (cache) {
+            cache.put(name, ret);
+        }
+        return ret;
+    }
+
+    private static final class Reader {
+        private final TypeParser parser;
+        private final String source;
+        private final int length;
+        private int position;
+        private int depth;
+
+        private Reader(TypeParser parser, String source) {
+            this.parser = parser;
+            this.source = source;
+            this.length = source.length();
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " in \"" + source + "\"");
+        }
+
+        private void skipSpaces() {
+            while (position < length && source.charAt(position) == ' ') {
+                ++position;
+            }
+        }
+
+        private boolean peek(char c) {
+            return position < length && source.charAt(position) == c;
+        }
+
+        private boolean accept(String token) {
+            if (source.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw error("Expected '" + c + "'");
+            }
+            ++position;
+        }
+
+        private Type read() {
+            skipSpaces();
+            var ret = readType();
+            skipSpaces();
+            if (position != length) {
+                throw error("Unexpected character '" + source.charAt(position) + "'");
+            }
+            return ret;
+        }
+
+        private Type readType() {
+            if (depth == MAX_DEPTH) {
+                throw error("Type nesting exceeds " + MAX_DEPTH);
+            }
+            ++depth;
+            var ret = peek('?') ? readWildcard() : readNamed();
+            --depth;
+            while (accept("[]")) {
+                ret = ret instanceof Class
+                        ? TypeUtil.innerGetArrayType((Class<?>) ret, 1)
+                        : new GenericArrayTypeImpl(ret);
+            }
+            if (!peek(':')) {
+                return ret;
+            }
+            var tags = new ArrayList<>();
+            while (peek(':')) {
+                ++position;
+                tags.add(readTag());
+            }
+            return new TaggedTypeImpl(ret, tags.toArray());
+        }
+
+        private String readTag() {
+            var start = position;
+            while (position < length) {
+                var c = source.charAt(position);
+                if (c == ':' || c == ',' || c == '>') {
+                    break;
+                }
+                ++position;
+            }
+            return source.substring(start, position);
+        }
+
+        private Type readWildcard() {
+            ++position;
+            if (accept(" extends ")) {
+                skipSpaces();
+                return new WildcardTypeImpl(new Type[]{readType()}, Types.EMPTY_ARRAY);
+            }
+            if (accept(" super ")) {
+                skipSpaces();
+                return new WildcardTypeImpl(Types.UPPERS, new Type[]{readType()});
+            }
+            return new WildcardTypeImpl(Types.UPPERS, Types.EMPTY_ARRAY);
+        }
+
+        private String readName() {
+            var start = position;
+            while (position < length) {
+                var c = source.charAt(position);
+                if (c != '.' && !Character.isJavaIdentifierPart(c)) {
+                    break;
+                }
+                ++position;
+            }
+            if (start == position) {
+                throw error(position < length ? "Unexpected character '" + source.charAt(position) + "'" : "Unexpected end");
+            }
+            return source.substring(start, position);
+        }
+
+        private Class<?> readDescriptor() {
+            var dimension = 0;
+            while (peek('[')) {
+                ++position;
+                ++dimension;
+            }
+            if (position == length) {
+                throw error("Unexpected end");
+            }
+            var c = source.charAt(position++);
+            Class<?> component;
+            if (c == 'L') {
+                var start = position;
+                var end = source.indexOf(';', start);
+                if (end < 0) {
+                    throw error("Expected ';'");
+                }
+                position = end + 1;
+                component = parser.resolve(source.substring(start, end));
+            } else {
+                component = TypeUtil.getPrimitive(c);
+                if (component == null || component == void.class) {
+                    --position;
+                    throw error("Unexpected descriptor '" + c + "'");
+                }
+            }
+            return TypeUtil.innerGetArrayType(component, dimension);
+        }
+
+        private Type[] readArguments() {
+            var ret = new ArrayList<Type>();
+            do {
+                ++position;
+                skipSpaces();
+                ret.add(readType());
+                skipSpaces();
+            } while (peek(','));
+            expect('>');
+            return ret.toArray(Types.EMPTY_ARRAY);
+        }
+
+        private Type readNamed() {
+            if (peek('[')) {
+                return readDescriptor();
+            }
+            var raw = parser.resolve(readName());
+            if (!peek('<')) {
+                return raw;
+            }
+            var ret = (Type) new ParameterizedTypeImpl(raw.getEnclosingClass(), raw, readArguments());
+            // Jdk notation for parameterized owners: Owner<A>$Inner<B>
+            while (peek('$')) {
+                ++position;
+                var owner = (ParameterizedType) ret;
+                raw = parser.resolve(((Class<?>) owner.getRawType()).getName() + '$' + readName());
+                var arguments = peek('<') ? readArguments() : Types.EMPTY_ARRAY;
+                ret = new ParameterizedTypeImpl(owner, raw, arguments);
+            }
+            return ret;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A utility class containing methods for resolving type variables in the context of a specific type.
+ * For example, resolving {@code List<T>} declared in {@code BaseRepo<T>} in the context of
+ * {@code UserRepo extends BaseRepo<User>} results in {@code List<User>}.
+ * <br>
+ * The generic supertypes of each class are collected only once and cached for the lifetime of the class,
+ * so repeated resolutions do not walk the class hierarchy.
+ * All resolved types are re-instantiated with jtype implementations.
+ * This class cannot be instantiated.
+ */
+public final class TypeResolver {
+    private static final ClassValue<Map<Class<?>, Type>> SUPERTYPES = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Type> computeValue(Class<?> type) {
+            return collectSupertypes(type);
+        }
+    };
+
+    private TypeResolver() {
+    }
+
+    private static Type getSelfType(Class<?> type) {
+        var variables = type.getTypeParameters();
+        if (variables.length == 0) {
+            return type;
+        }
+        // The variables array must not be used as is, its component type is narrower than Type
+        return new ParameterizedTypeImpl(type.getEnclosingClass(), type, Arrays.copyOf(variables, variables.length, Type[].class));
+    }
+
+    private static Map<Class<?>, Type> collectSupertypes(Class<?> type) {
+        var ret = new HashMap<Class<?>, Type>();
+        ret.put(type, getSelfType(type));
+        var superclass = type.getGenericSuperclass();
+        if (superclass != null) {
+            inherit(ret, superclass);
+        }
+        for (var generic : type.getGenericInterfaces()) {
+            inherit(ret, generic);
+        }
+        return ret;
+    }
+
+    private static void inherit(Map<Class<?>, Type> supertypes, Type supertype) {
+        if (supertype instanceof Class) {
+            var raw = (Class<?>) supertype;
+            var inherited = SUPERTYPES.get(raw);
+            if (raw.getTypeParameters().length == 0) {
+                inherited.forEach(supertypes::putIfAbsent);
+                return;
+            }
+            // The supertypes of a raw type are erased
+            for (var clazz : inherited.keySet()) {
+                supertypes.putIfAbsent(clazz, clazz);
+            }
+            return;
+        }
+        var parameterized = (ParameterizedType) supertype;
+        var bindings = bind(parameterized);
+        var inherited = SUPERTYPES.get((Class<?>) parameterized.getRawType());
+        for (var entry : inherited.entrySet()) {
+            var clazz = entry.getKey();
+            if (!supertypes.containsKey(clazz)) {
+                supertypes.put(clazz, substitute(entry.getValue(), v -> bindings.getOrDefault(v, v)));
+            }
+        }
+    }
+
+    private static Map<TypeVariable<?>, Type> bind(ParameterizedType type) {
+        var ret = new HashMap<TypeVariable<?>, Type>();
+        var current = type;
+        while (current != null) {
+            var variables = ((Class<?>) current.getRawType()).getTypeParameters();
+            var arguments = current.getActualTypeArguments();
+            var length = Math.min(variables.length, arguments.length);
+            for (var i = 0; i < length; ++i) {
+                ret.putIfAbsent(variables[i], Types.canonicalize(arguments[i]));
+            }
+            var owner = current.getOwnerType();
+            current = owner instanceof ParameterizedType ? (ParameterizedType) owner : null;
+        }
+        return ret;
+    }
+
+    static Type substitute(Type type, Function<TypeVariable<?>, Type> resolver) {
+        return new Substitution(resolver).transform(type);
+    }
+
+    private static int indexOf(TypeVariable<?>[] variables, TypeVariable<?> variable) {
+        var length = variables.length;
+        for (var i = 0; i < length; ++i) {
+            if (variables[i].equals(variable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Generic classes and inner classes of generic ones used without type arguments
+    private static boolean isRaw(Class<?> type) {
+        for (var current = type; current != null; current = current.getEnclosingClass()) {
+            if (current.getTypeParameters().length != 0) {
+                return true;
+            }
+            if (Modifier.isStatic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    static Type innerGetSupertype(Type context, Class<?> supertype) {
+        var resolution = new Context(context);
+        var form = SUPERTYPES.get(resolution.raw).get(supertype);
+        if (form == null) {
+            return null;
+        }
+        var type = context instanceof TaggedType ? ((TaggedType) context).getRawType() : context;
+        if (type instanceof Class && isRaw((Class<?>) type)) {
+            // The supertypes of raw types are erased (JLS 4.8)
+            return supertype;
+        }
+        var ret = substitute(form, resolution::bound);
+        if (ret == form && form instanceof ParameterizedType) {
+            // The cached forms are shared by the whole JVM, so they are never handed out
+            var parameterized = (ParameterizedType) form;
+            return new ParameterizedTypeImpl(
+                    parameterized.getOwnerType(),
+                    parameterized.getRawType(),
+                    ParameterizedTypeImpl.argumentsOf(parameterized)
+            );
+        }
+        return ret;
+    }
+
+    static Type innerResolve(Type context, Type type) {
+        if (type instanceof Class) {
+            return type;
+        }
+        var resolution = new Context(context);
+        return substitute(type, resolution::resolve);
+    }
+
+    /**
+     * Resolves the specified type in the context of the specified type.
+     * All type variables declared by the context raw class, its supertypes and enclosing classes
+     * are replaced with the corresponding type arguments. Variables that cannot be resolved
+     * (for example, declared by methods) are left as is.
+     *
+     * @param context the specified context type, must be non-null
+     * @param type    the specified type to be resolved, must be non-null
+     * @return resolved {@link Type} instance
+     */
+    public static Type resolve(Type context, Type type) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(type);
+        return innerResolve(context, type);
+    }
+
+    /**
+     * Resolves the specified type in the context of the type stored in the specified {@link JType} instance.
+     *
+     * @param context the specified {@link JType} instance, must be non-null
+     * @param type    the specified type to be resolved, must be non-null
+     * @return resolved {@link Type} instance
+     * @see #resolve(Type, Type)
+     */
+    public static Type resolve(JType<?> context, Type type) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(type);
+        return innerResolve(context.getType(), type);
+    }
+
+    /**
+     * Finds the specified supertype of the specified type with resolved type arguments.
+     * For example, getSupertype(ArrayList&lt;String&gt;, Iterable.class) =&gt; Iterable&lt;String&gt;.
+     * <br>
+     * The supertypes of raw types are erased, so getSupertype(ArrayList.class, Iterable.class) =&gt; Iterable.class.
+     *
+     * @param context   the specified type, must be non-null
+     * @param supertype the specified raw supertype, must be non-null
+     * @return {@link Type} instance or null, if the raw type of the context is not a subtype of specified class
+     */
+    public static Type getSupertype(Type context, Class<?> supertype) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(supertype);
+        return innerGetSupertype(context, supertype);
+    }
+
+    /**
+     * Finds the specified supertype of the type stored in the specified {@link JType} instance.
+     *
+     * @param context   the specified {@link JType} instance, must be non-null
+     * @param supertype the specified raw supertype, must be non-null
+     * @return {@link Type} instance or null, if the raw type of the context is not a subtype of specified class
+     * @see #getSupertype(Type, Class)
+     */
+    public static Type getSupertype(JType<?> context, Class<?> supertype) {
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(supertype);
+        return innerGetSupertype(context.getType(), supertype);
+    }
+
+    private static final class Context {
+        private final Class<?> raw;
+        private final Map<TypeVariable<?>, Type> bindings;
+        private final Type owner;
+
+        private Context(Type type) {
+            if (type instanceof TaggedType) {
+                type = ((TaggedType) type).getRawType();
+            }
+            this.raw = TypeUtil.innerGetRawType(type);
+            if (type instanceof ParameterizedType) {
+                var parameterized = (ParameterizedType) type;
+                this.bindings = bind(parameterized);
+                this.owner = parameterized.getOwnerType();
+            } else {
+                this.bindings = Map.of();
+                this.owner = null;
+            }
+        }
+
+        private Type bound(TypeVariable<?> variable) {
+            return bindings.getOrDefault(variable, variable);
+        }
+
+        private Type resolve(TypeVariable<?> variable) {
+            var ret = bindings.get(variable);
+            if (ret != null) {
+                return ret;
+            }
+            var declaration = variable.getGenericDeclaration();
+            if (!(declaration instanceof Class)) {
+                return variable;
+            }
+            var form = SUPERTYPES.get(raw).get(declaration);
+            if (form instanceof ParameterizedType) {
+                var index = indexOf(((Class<?>) declaration).getTypeParameters(), variable);
+                var argument = ParameterizedTypeImpl.argumentsOf((ParameterizedType) form)[index];
+                return substitute(argument, this::bound);
+            }
+            if (form != null) {
+                // The declaration is inherited as a raw type, so its variables are erased
+                return TypeUtil.innerGetRawType(variable.getBounds()[0]);
+            }
+            if (owner != null) {
+                return new Context(owner).resolve(variable);
+            }
+            return variable;
+        }
+    }
+
+    private static final class Substitution extends CanonicalTransformer {
+        private final Function<TypeVariable<?>, Type> resolver;
+
+        private Substitution(Function<TypeVariable<?>, Type> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Type visitVariable(TypeVariable<?> type) {
+            return resolver.apply(type);
+        }
+
+        @Override
+        public Type visitGenericArray(GenericArrayType type) {
+            var ret = super.visitGenericArray(type);
+            if (ret instanceof GenericArrayType) {
+                var component = ((GenericArrayType) ret).getGenericComponentType();
+                if (component instanceof Class) {
+                    return TypeUtil.innerGetArrayType((Class<?>) component, 1);
+                }
+            }
+            return ret;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+
+/**
+ * A utility class containing methods for converting types into jvm field descriptors
+ * and generic signatures (JVMS 4.3.2 and 4.7.9.1) and back.
+ * For example, {@code List<String>} has the descriptor "Ljava/util/List;"
+ * and the signature "Ljava/util/List&lt;Ljava/lang/String;&gt;;".
+ * <br>
+ * The descriptors of classes are cached for the lifetime of the classes,
+ * and the signatures of generic types are memoized.
+ * This class cannot be instantiated.
+ */
+public final class TypeSignatures {
+    private static final int CAPACITY = 4096;
+    private static final ClassValue<String> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (type.isPrimitive()) {
+                return String.valueOf(TypeUtil.getPrimitiveDescriptor(type));
+            }
+            var name = type.getName().replace('.', '/');
+            // The names of array classes are already their descriptors
+            return type.isArray() ? name : "L" + name + ";";
+        }
+    };
+    // The markers of the explicit stack, followed by the parameterized type and the type argument respectively
+    private static final Object PREFIX = new Object();
+    private static final Object ARGUMENT = new Object();
+    private static final TypeCache<Type, String> SIGNATURES = new TypeCache<>("signatures", CAPACITY, TypeCache::anchorOf);
+
+    private TypeSignatures() {
+    }
+
+    /**
+     * Returns the jvm field descriptor of the erasure of the specified type (see {@link TypeUtil#erase(Type)}).
+     * For example, getDescriptor(List&lt;String&gt;[]) =&gt; "[Ljava/util/List;",
+     * and the descriptor of {@code T extends CharSequence} is "Ljava/lang/CharSequence;".
+     *
+     * @param type the specified type, must be non-null
+     * @return descriptor string
+     */
+    public static String getDescriptor(Type type) {
+        Objects.requireNonNull(type);
+        return DESCRIPTORS.get(TypeUtil.innerErase(type));
+    }
+
+    private static void appendClassPrefix(ArrayDeque<Object> stack, StringBuilder builder, ParameterizedType type) {
+        // Lpkg/Outer<TT;>.Inner<TU;>;
+        // The parts are pushed in reverse order
+        var arguments = ParameterizedTypeImpl.argumentsOf(type);
+        var length = arguments.length;
+        if (length != 0) {
+            stack.push(">");
+            for (var i = length - 1; i >= 0; --i) {
+                stack.push(arguments[i]);
+                stack.push(ARGUMENT);
+            }
+            stack.push("<");
+        }
+        if (!(type.getRawType() instanceof Class)) {
+            throw new IllegalTypeException("Raw type must be a class", type);
+        }
+        var raw = (Class<?>) type.getRawType();
+        // The owners that do not enclose the raw class are not a part of its signature
+        var inner = ParameterizedTypeImpl.innerNameOf(type);
+        if (inner != null) {
+            stack.push("." + inner);
+            stack.push(type.getOwnerType());
+            stack.push(PREFIX);
+        } else {
+            builder.append('L').append(raw.getName().replace('.', '/'));
+        }
+    }
+
+    private static void appendArgument(ArrayDeque<Object> stack, StringBuilder builder, Type type) {
+        if (!(type instanceof WildcardType)) {
+            appendSignature(stack, builder, type);
+            return;
+        }
+        var wildcard = (WildcardType) type;
+        var lowers = wildcard.getLowerBounds();
+        if (lowers.length != 0) {
+            builder.append('-');
+            stack.push(lowers[0]);
+            return;
+        }
+        var uppers = wildcard.getUpperBounds();
+        if (uppers.length == 0 || uppers[0] == Object.class) {
+            builder.append('*');
+            return;
+        }
+        builder.append('+');
+        stack.push(uppers[0]);
+    }
+
+    private static void appendSignature(ArrayDeque<Object> stack, StringBuilder builder, Type type) {
+        if (type instanceof Class) {
+            builder.append(DESCRIPTORS.get((Class<?>) type));
+        } else if (type instanceof ParameterizedType) {
+            stack.push(";");
+            stack.push(type);
+            stack.push(PREFIX);
+        } else if (type instanceof GenericArrayType) {
+            builder.append('[');
+            stack.push(((GenericArrayType) type).getGenericComponentType());
+        } else if (type instanceof TypeVariable) {
+            builder.append('T').append(((TypeVariable<?>) type).getName()).append(';');
+        } else if (type instanceof TaggedType) {
+            stack.push(((TaggedType) type).getRawType());
+        } else if (type instanceof WildcardType) {
+            throw new IllegalTypeException("Wildcards are allowed only as type arguments", type);
+        } else {
+            throw new IllegalTypeException("Unexpected type implementation", type);
+        }
+    }
+
+    private static String createSignature(Type type) {
+        // The explicit stack of types and string parts, so the deeply nested types are safe
+        var builder = new StringBuilder();
+        var stack = new ArrayDeque<>();
+        stack.push(type);
+        while (!stack.isEmpty()) {
+            var item = stack.pop();
+            if (item == PREFIX) {
+                appendClassPrefix(stack, builder, (ParameterizedType) stack.pop());
+            } else if (item == ARGUMENT) {
+                appendArgument(stack, builder, (Type) stack.pop());
+            } else if (item instanceof String) {
+                builder.append((String) item);
+            } else {
+                appendSignature(stack, builder, (Type) item);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the jvm generic signature of the specified type.
+     * Tags of {@link TaggedType} instances are ignored.
+     * For example, getSignature(Map&lt;String, ? extends T&gt;) =&gt; "Ljava/util/Map&lt;Ljava/lang/String;+TT;&gt;;".
+     *
+     * @param type the specified type, must be non-null
+     * @return signature string
+     * @throws IllegalTypeException if the type is a wildcard or contains unexpected type implementations
+     */
+    public static String getSignature(Type type) {
+        Objects.requireNonNull(type);
+        if (type instanceof Class) {
+            return DESCRIPTORS.get((Class<?>) type);
+        }
+        return SIGNATURES.computeIfAbsent(type, TypeSignatures::createSignature);
+    }
+
+    /**
+     * Parses the specified jvm field descriptor.
+     *
+     * @param descriptor the specified descriptor, must be non-null
+     * @param resolver   the specified {@link ClassResolver} instance, must be non-null
+     * @return {@link Class} instance
+     * @throws IllegalArgumentException if the descriptor is malformed or contains unknown classes
+     */
+    public static Class<?> parseDescriptor(String descriptor, ClassResolver resolver) {
+        Objects.requireNonNull(descriptor);
+        Objects.requireNonNull(resolver);
+        var reader = new Reader(descriptor, resolver);
+        var ret = reader.readSignature();
+        if (!(ret instanceof Class)) {
+            throw new IllegalArgumentException("Not a descriptor: " + descriptor);
+        }
+        reader.end();
+        return (Class<?>) ret;
+    }
+
+    /**
+     * Parses the specified jvm generic signature of a type.
+     * The type variables cannot be resolved, so the signatures containing them are not supported.
+     *
+     * @param signature the specified signature, must be non-null
+     * @param resolver  the specified {@link ClassResolver} instance, must be non-null
+     * @return {@link Type} instance
+     * @throws IllegalArgumentException if the signature is malformed or contains unknown classes or type variables
+     */
+    public static Type parseSignature(String signature, ClassResolver resolver) {
+        Objects.requireNonNull(signature);
+        Objects.requireNonNull(resolver);
+        var reader = new Reader(signature, resolver);
+        var ret = reader.readSignature();
+        reader.end();
+        return ret;
+    }
+
+    private static final class Reader {
+        private final String source;
+        private final ClassResolver resolver;
+        private int position;
+
+        private Reader(String source, ClassResolver resolver) {
+            this.source = source;
+            this.resolver = resolver;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " in \"" + source + "\"");
+        }
+
+        private char next() {
+            if (position == source.length()) {
+                throw error("Unexpected end");
+            }
+            return source.charAt(position++);
+        }
+
+        private char peek() {
+            if (position == source.length()) {
+                throw error("Unexpected end");
+            }
+            return source.charAt(position);
+        }
+
+        private void end() {
+            if (position != source.length()) {
+                throw error("Unexpected character '" + source.charAt(position) + "'");
+            }
+        }
+
+        private Class<?> resolve(String name) {
+            try {
+                return resolver.resolve(name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown class: " + name, e);
+            }
+        }
+
+        private String readIdentifier() {
+            var start = position;
+            while (position < source.length()) {
+                var c = source.charAt(position);
+                if (c == '<' || c == '.' || c == ';') {
+                    break;
+                }
+                ++position;
+            }
+            if (start == position) {
+                throw error("Expected identifier");
+            }
+            return source.substring(start, position);
+        }
+
+        private Type[] readArguments() {
+            ++position;
+            var ret = new ArrayList<Type>();
+            while (peek() != '>') {
+                switch (peek()) {
+                    case '*':
+                        ++position;
+                        ret.add(new WildcardTypeImpl(Types.UPPERS, Types.EMPTY_ARRAY));
+                        break;
+                    case '+':
+                        ++position;
+                        ret.add(new WildcardTypeImpl(new Type[]{readSignature()}, Types.EMPTY_ARRAY));
+                        break;
+                    case '-':
+                        ++position;
+                        ret.add(new WildcardTypeImpl(Types.UPPERS, new Type[]{readSignature()}));
+                        break;
+                    default:
+                        ret.add(readSignature());
+                }
+            }
+            ++position;
+            if (ret.isEmpty()) {
+                throw error("Empty type arguments");
+            }
+            return ret.toArray(Types.EMPTY_ARRAY);
+        }
+
+        private Type readClass() {
+            var name = readIdentifier().replace('/', '.');
+            var raw = resolve(name);
+            var ret = (Type) raw;
+            if (peek() == '<') {
+                ret = new ParameterizedTypeImpl(raw.getEnclosingClass(), raw, readArguments());
+            }
+            while (peek() == '.') {
+                ++position;
+                name += '$' + readIdentifier();
+                raw = resolve(name);
+                if (peek() == '<') {
+                    ret = new ParameterizedTypeImpl(ret, raw, readArguments());
+                } else if (ret instanceof ParameterizedType) {
+                    ret = new ParameterizedTypeImpl(ret, raw, Types.EMPTY_ARRAY);
+                } else {
+                    ret = raw;
+                }
+            }
+            if (next() != ';') {
+                throw error("Expected ';'");
+            }
+            return ret;
+        }
+
+        private Type readSignature() {
+            var c = next();
+            switch (c) {
+                case 'L':
+                    return readClass();
+                case '[':
+                    var component = readSignature();
+                    if (component instanceof Class) {
+                        return TypeUtil.innerGetArrayType((Class<?>) component, 1);
+                    }
+                    return new GenericArrayTypeImpl(component);
+                case 'T':
+                    --position;
+                    throw error("Type variables are not supported");
+                default:
+                    var ret = TypeUtil.getPrimitive(c);
+                    if (ret == null || ret == void.class) {
+                        --position;
+                        throw error("Unexpected character '" + c + "'");
+                    }
+                    return ret;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * A base class for the visitors that transform types into other types with structural sharing.
+ * The components of the visited types are transformed recursively, and the type is rebuilt
+ * with jtype implementations only if any of its components has changed. Unchanged subtrees
+ * are returned as is, so transforming a type that contains nothing to transform allocates nothing.
+ * <br>
+ * For example, a transformer that strips tags:
+ * <pre>{@code
+ * var stripper = new TypeTransformer() {
+ *     @Override
+ *     public Type visitTagged(TaggedType type) {
+ *         return transform(type.getRawType());
+ *     }
+ * };
+ * }</pre>
+ * Classes, type variables and unknown type implementations are left unchanged by default.
+ */
+public abstract class TypeTransformer implements TypeVisitor<Type> {
+
+    /**
+     * Constructs {@link TypeTransformer} instance, intended for use by subclasses.
+     */
+    protected TypeTransformer() {
+    }
+
+    /**
+     * Returns the transformed type.
+     *
+     * @param type the specified type, may be null
+     * @return {@link Type} instance or null
+     */
+    public Type transform(Type type) {
+        if (type == null) {
+            return null;
+        }
+        return visit(type);
+    }
+
+    /**
+     * Returns the transformed types. If none of the types has changed, the passed array is returned.
+     *
+     * @param types the specified types, must be non-null
+     * @return {@link Type} array
+     */
+    public Type[] transform(Type[] types) {
+        Type[] ret = null;
+        var length = types.length;
+        for (var i = 0; i < length; ++i) {
+            var type = types[i];
+            var transformed = transform(type);
+            if (ret == null) {
+                if (transformed == type) {
+                    continue;
+                }
+                // The passed array may have a narrower component type, such as TypeVariable[]
+                ret = new Type[length];
+                System.arraycopy(types, 0, ret, 0, i);
+            }
+            ret[i] = transformed;
+        }
+        return ret == null ? types : ret;
+    }
+
+    /**
+     * Returns true if the specified type, whose components are left unchanged, can be returned as is.
+     * Otherwise, the type is re-instantiated with jtype implementations. By default, returns true.
+     *
+     * @param type the specified type
+     * @return true if the type can be reused, false otherwise
+     */
+    protected boolean isReusable(Type type) {
+        return true;
+    }
+
+    @Override
+    public Type visitClass(Class<?> type) {
+        return type;
+    }
+
+    @Override
+    public Type visitParameterized(ParameterizedType type) {
+        var owner = type.getOwnerType();
+        var raw = type.getRawType();
+        var arguments = ParameterizedTypeImpl.argumentsOf(type);
+        var newOwner = transform(owner);
+        var newRaw = transform(raw);
+        var newArguments = transform(arguments);
+        if (newOwner == owner && newRaw == raw && newArguments == arguments && isReusable(type)) {
+            return type;
+        }
+        return new ParameterizedTypeImpl(newOwner, newRaw, newArguments);
+    }
+
+    @Override
+    public Type visitGenericArray(GenericArrayType type) {
+        var component = type.getGenericComponentType();
+        var newComponent = transform(component);
+        if (newComponent == component && isReusable(type)) {
+            return type;
+        }
+        return new GenericArrayTypeImpl(newComponent);
+    }
+
+    @Override
+    public Type visitWildcard(WildcardType type) {
+        Type[] uppers;
+        Type[] lowers;
+        if (type instanceof WildcardTypeImpl) {
+            // Avoid copying the bounds of immutable implementation
+            var wildcard = (WildcardTypeImpl) type;
+            uppers = wildcard.uppers();
+            lowers = wildcard.lowers();
+        } else {
+            uppers = type.getUpperBounds();
+            lowers = type.getLowerBounds();
+        }
+        var newUppers = transform(uppers);
+        var newLowers = transform(lowers);
+        if (newUppers == uppers && newLowers == lowers && isReusable(type)) {
+            return type;
+        }
+        return new WildcardTypeImpl(newUppers, newLowers);
+    }
+
+    @Override
+    public Type visitVariable(TypeVariable<?> type) {
+        return type;
+    }
+
+    @Override
+    public Type visitTagged(TaggedType type) {
+        var raw = type.getRawType();
+        var newRaw = transform(raw);
+        if (newRaw == raw && isReusable(type)) {
+            return type;
+        }
+        return TaggedTypeImpl.copyOf(type, newRaw);
+    }
+
+    @Override
+    public Type visitOther(Type type) {
+        return type;
+    }
+}
@@ -0,0 +1,415 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Explicit-stack implementations of the operations on jtype trees, which are used instead of the recursive ones
+ * for the trees nested deeper than {@link #RECURSION_LIMIT}. The subtrees that are shallow enough
+ * are still processed by their own recursive methods.
+ */
+final class TypeTraversal {
+    // Deep enough for any hand-written type and shallow enough for small thread stacks
+    static final int RECURSION_LIMIT = 128;
+
+    private TypeTraversal() {
+    }
+
+    static int depthOf(Type type) {
+        if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).depth();
+        }
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).depth();
+        }
+        if (type instanceof WildcardTypeImpl) {
+            return ((WildcardTypeImpl) type).depth();
+        }
+        if (type instanceof TaggedTypeImpl) {
+            return ((TaggedTypeImpl) type).depth();
+        }
+        return 0;
+    }
+
+    static int depthOf(Type[] types) {
+        var ret = 0;
+        for (var type : types) {
+            ret = Math.max(ret, depthOf(type));
+        }
+        return ret;
+    }
+
+    static boolean isCanonical(Type type) {
+        if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).isCanonical();
+        }
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).isCanonical();
+        }
+        if (type instanceof WildcardTypeImpl) {
+            return ((WildcardTypeImpl) type).isCanonical();
+        }
+        if (type instanceof TaggedTypeImpl) {
+            return ((TaggedTypeImpl) type).isCanonical();
+        }
+        // Classes, variables and unknown implementations are left as is by the canonicalization
+        return !isComposite(type);
+    }
+
+    static boolean isCanonical(Type[] types) {
+        for (var type : types) {
+            if (!isCanonical(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The part is the component of the created type reported as illegal, since the type itself is not created yet
+    static int nest(int depth, Type part) {
+        if (depth >= Types.MAX_DEPTH) {
+            throw new IllegalTypeException("Type nesting exceeds " + Types.MAX_DEPTH, part);
+        }
+        return depth + 1;
+    }
+
+    private static boolean isDeep(Type type) {
+        return depthOf(type) > RECURSION_LIMIT;
+    }
+
+    private static boolean isComposite(Type type) {
+        return type instanceof ParameterizedType
+                || type instanceof GenericArrayType
+                || type instanceof WildcardType
+                || type instanceof TaggedType;
+    }
+
+    static boolean isShallow(Type type) {
+        if (!isComposite(type)) {
+            return true;
+        }
+        var depth = depthOf(type);
+        // The depth of other implementations is unknown
+        return depth != 0 && depth <= RECURSION_LIMIT;
+    }
+
+    static Type canonicalize(Type type) {
+        var stack = new ArrayDeque<Frame>();
+        stack.push(new Frame(type));
+        while (true) {
+            var frame = stack.peek();
+            if (frame.index < frame.children.length) {
+                var child = frame.children[frame.index];
+                if (isCanonical(child) || isShallow(child)) {
+                    frame.accept(CanonicalTransformer.INSTANCE.transform(child));
+                    continue;
+                }
+                if (stack.size() == Types.MAX_DEPTH) {
+                    throw new IllegalTypeException("Type nesting exceeds " + Types.MAX_DEPTH, type);
+                }
+                stack.push(new Frame(child));
+                continue;
+            }
+            stack.pop();
+            var ret = frame.build();
+            if (stack.isEmpty()) {
+                return ret;
+            }
+            stack.peek().accept(ret);
+        }
+    }
+
+    static Type intern(Type type) {
+        var stack = new ArrayDeque<Frame>();
+        stack.push(new Frame(type));
+        while (true) {
+            var frame = stack.peek();
+            if (frame.index < frame.children.length) {
+                var child = frame.children[frame.index];
+                if (!isComposite(child)) {
+                    frame.accept(child);
+                    continue;
+                }
+                // The hash codes of the deep jdk types cannot be computed without recursion
+                var found = depthOf(child) == 0 ? null : Types.findInterned(child);
+                if (found != null) {
+                    frame.accept(found);
+                    continue;
+                }
+                if (isShallow(child)) {
+                    frame.accept(Types.innerIntern(child));
+                    continue;
+                }
+                if (stack.size() == Types.MAX_DEPTH) {
+                    throw new IllegalTypeException("Type nesting exceeds " + Types.MAX_DEPTH, type);
+                }
+                stack.push(new Frame(child));
+                continue;
+            }
+            stack.pop();
+            // Reused jtype implementations have all components interned as well
+            var ret = Types.internInstance(frame.build());
+            if (stack.isEmpty()) {
+                return ret;
+            }
+            stack.peek().accept(ret);
+        }
+    }
+
+    private static boolean isHashed(Type type) {
+        if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).isHashed();
+        }
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).isHashed();
+        }
+        if (type instanceof WildcardTypeImpl) {
+            return ((WildcardTypeImpl) type).isHashed();
+        }
+        if (type instanceof TaggedTypeImpl) {
+            return ((TaggedTypeImpl) type).isHashed();
+        }
+        return false;
+    }
+
+    private static int hashOf(int[] hashes, int from, int to) {
+        // Same as Arrays.hashCode
+        var ret = 1;
+        for (var i = from; i < to; ++i) {
+            ret = 31 * ret + hashes[i];
+        }
+        return ret;
+    }
+
+    static int hashCode(Type type) {
+        var stack = new ArrayDeque<Frame>();
+        stack.push(new Frame(type));
+        while (true) {
+            var frame = stack.peek();
+            if (frame.index < frame.children.length) {
+                var child = frame.children[frame.index];
+                // The memoized hash codes of the deep components are reused, so building a deep type is linear
+                if (isDeep(child) && !isHashed(child)) {
+                    stack.push(new Frame(child));
+                } else {
+                    frame.acceptHash(child == null ? 0 : child.hashCode());
+                }
+                continue;
+            }
+            stack.pop();
+            var ret = frame.hash();
+            if (stack.isEmpty()) {
+                return ret;
+            }
+            stack.peek().acceptHash(ret);
+        }
+    }
+
+    static boolean equals(Type left, Type right) {
+        var stack = new Type[16];
+        var size = 0;
+        stack[size++] = left;
+        stack[size++] = right;
+        while (size != 0) {
+            var second = stack[--size];
+            var first = stack[--size];
+            if (first == second) {
+                continue;
+            }
+            if (first == null || second == null) {
+                return false;
+            }
+            if (!isDeep(first)) {
+                if (!first.equals(second)) {
+                    return false;
+                }
+                continue;
+            }
+            if (!isDeep(second)) {
+                if (!second.equals(first)) {
+                    return false;
+                }
+                continue;
+            }
+            // Both types are deep jtype implementations
+            if (first.getClass() != second.getClass()) {
+                return false;
+            }
+            var a = new Frame(first);
+            var b = new Frame(second);
+            var length = a.children.length;
+            if (length != b.children.length || a.split != b.split) {
+                return false;
+            }
+            if (first instanceof TaggedTypeImpl && !((TaggedTypeImpl) first).equalTags((TaggedType) second)) {
+                return false;
+            }
+            if (stack.length < size + 2 * length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, size + 2 * length));
+            }
+            for (var i = 0; i < length; ++i) {
+                stack[size++] = a.children[i];
+                stack[size++] = b.children[i];
+            }
+        }
+        return true;
+    }
+
+    static void append(StringBuilder builder, Type type) {
+        var stack = new ArrayDeque<>();
+        stack.push(type);
+        while (!stack.isEmpty()) {
+            var item = stack.pop();
+            if (item instanceof String) {
+                builder.append((String) item);
+                continue;
+            }
+            var current = (Type) item;
+            if (!isDeep(current)) {
+                TypeUtil.append(builder, current);
+                continue;
+            }
+            // The parts are pushed in reverse order, see the appendTo methods of the implementations
+            if (current instanceof ParameterizedTypeImpl) {
+                var parameterized = (ParameterizedTypeImpl) current;
+                var arguments = ParameterizedTypeImpl.argumentsOf(parameterized);
+                var length = arguments.length;
+                if (length != 0) {
+                    stack.push(">");
+                    for (var i = length - 1; i > 0; --i) {
+                        stack.push(arguments[i]);
+                        stack.push(", ");
+                    }
+                    stack.push(arguments[0]);
+                    stack.push("<");
+                }
+                var inner = ParameterizedTypeImpl.innerNameOf(parameterized);
+                if (inner == null) {
+                    stack.push(parameterized.getRawType());
+                } else {
+                    stack.push("$" + inner);
+                    stack.push(parameterized.getOwnerType());
+                }
+            } else if (current instanceof GenericArrayTypeImpl) {
+                stack.push("[]");
+                stack.push(((GenericArrayTypeImpl) current).getGenericComponentType());
+            } else if (current instanceof WildcardTypeImpl) {
+                var wildcard = (WildcardTypeImpl) current;
+                if (wildcard.lowers().length != 0) {
+                    stack.push(wildcard.lowers()[0]);
+                    stack.push("? super ");
+                } else if (wildcard.uppers()[0] == Object.class) {
+                    stack.push("?");
+                } else {
+                    stack.push(wildcard.uppers()[0]);
+                    stack.push("? extends ");
+                }
+            } else {
+                var tagged = (TaggedTypeImpl) current;
+                var tags = tagged.tags();
+                for (var i = tags.length - 1; i >= 0; --i) {
+                    stack.push(String.valueOf(tags[i]));
+                    stack.push(":");
+                }
+                stack.push(tagged.getRawType());
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final Type type;
+        // Owner, raw type and arguments; component; upper and lower bounds; raw type
+        private final Type[] children;
+        // The number of upper bounds of a wildcard
+        private int split;
+        private Type[] results;
+        private int[] hashes;
+        private int index;
+
+        private Frame(Type type) {
+            this.type = type;
+            if (type instanceof ParameterizedType) {
+                var parameterized = (ParameterizedType) type;
+                var arguments = ParameterizedTypeImpl.argumentsOf(parameterized);
+                children = new Type[arguments.length + 2];
+                children[0] = parameterized.getOwnerType();
+                children[1] = parameterized.getRawType();
+                System.arraycopy(arguments, 0, children, 2, arguments.length);
+            } else if (type instanceof GenericArrayType) {
+                children = new Type[]{((GenericArrayType) type).getGenericComponentType()};
+            } else if (type instanceof WildcardType) {
+                Type[] uppers;
+                Type[] lowers;
+                if (type instanceof WildcardTypeImpl) {
+                    uppers = ((WildcardTypeImpl) type).uppers();
+                    lowers = ((WildcardTypeImpl) type).lowers();
+                } else {
+                    uppers = ((WildcardType) type).getUpperBounds();
+                    lowers = ((WildcardType) type).getLowerBounds();
+                }
+                split = uppers.length;
+                children = new Type[split + lowers.length];
+                System.arraycopy(uppers, 0, children, 0, split);
+                System.arraycopy(lowers, 0, children, split, lowers.length);
+            } else {
+                children = new Type[]{((TaggedType) type).getRawType()};
+            }
+        }
+
+        private void accept(Type result) {
+            if (results == null) {
+                if (result == children[index]) {
+                    ++index;
+                    return;
+                }
+                results = new Type[children.length];
+                System.arraycopy(children, 0, results, 0, index);
+            }
+            results[index++] = result;
+        }
+
+        private void acceptHash(int hash) {
+            if (hashes == null) {
+                hashes = new int[children.length];
+            }
+            hashes[index++] = hash;
+        }
+
+        private int hash() {
+            var length = hashes.length;
+            if (type instanceof ParameterizedType) {
+                // Hash from openjdk
+                return hashOf(hashes, 2, length) ^ hashes[0] ^ hashes[1];
+            }
+            if (type instanceof GenericArrayType) {
+                return hashes[0];
+            }
+            if (type instanceof WildcardType) {
+                return hashOf(hashes, split, length) ^ hashOf(hashes, 0, split);
+            }
+            return 31 * hashes[0] + ((TaggedTypeImpl) type).tagHash();
+        }
+
+        private Type build() {
+            if (results == null && CanonicalTransformer.INSTANCE.isReusable(type)) {
+                return type;
+            }
+            var parts = results == null ? children : results;
+            var length = parts.length;
+            if (type instanceof ParameterizedType) {
+                return new ParameterizedTypeImpl(parts[0], parts[1], Arrays.copyOfRange(parts, 2, length));
+            }
+            if (type instanceof GenericArrayType) {
+                return new GenericArrayTypeImpl(parts[0]);
+            }
+            if (type instanceof WildcardType) {
+                return new WildcardTypeImpl(Arrays.copyOfRange(parts, 0, split), Arrays.copyOfRange(parts, split, length));
+            }
+            return TaggedTypeImpl.copyOf((TaggedType) type, parts[0]);
+        }
+    }
+}
@@ -1,15 +1,42 @@
 package com.github.romanqed.jtype;
 
 import java.lang.reflect.*;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * A utility class containing methods for extracting raw types and some others.
  * This class cannot be instantiated.
  */
 public final class TypeUtil {
-    private static final String ARRAY = "[";
-    private static final String REFERENCE = "L";
+    // Primitive tables, the same index corresponds to the same primitive
+    private static final Class<?>[] PRIMITIVES = {
+            boolean.class, char.class, byte.class, short.class, int.class, long.class, float.class, double.class, void.class
+    };
+    private static final Class<?>[] WRAPPERS = {
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            Void.class
+    };
+    private static final Class<?>[] PRIMITIVE_ARRAYS = {
+            boolean[].class, char[].class, byte[].class, short[].class, int[].class, long[].class, float[].class,
+            double[].class, null
+    };
+    private static final char[] DESCRIPTORS = {'Z', 'C', 'B', 'S', 'I', 'J', 'F', 'D', 'V'};
+    // The minimal number of types, for which the parallel extraction of raw types is worth it
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private static final int CAPACITY = 1024;
+    // The maximum number of array dimensions allowed by the JVM
+    static final int MAX_DIMENSION = 255;
+    // Erasures of type variables, since their bounds are parsed and copied on each access
+    private static final TypeCache<TypeVariable<?>, Class<?>> ERASURES = new TypeCache<>("erasures", CAPACITY, TypeCache::anchorOf);
+    private static final TypeCache<Type, Type> CAPTURES = new TypeCache<>("captures", CAPACITY, TypeCache::anchorOf);
+    private static final ClassValue<ArrayTypeCache> ARRAY_TYPES = new ClassValue<>() {
+        @Override
+        protected ArrayTypeCache computeValue(Class<?> type) {
+            return new ArrayTypeCache(type);
+        }
+    };
 
     private TypeUtil() {
     }
@@ -24,27 +51,185 @@ public final class TypeUtil {
         return (type instanceof Class) && ((Class<?>) type).isPrimitive();
     }
 
-    static String toString(Type type) {
-        return type instanceof Class ? ((Class<?>) type).getName() : type.toString();
+    private static int indexOf(Class<?>[] table, Class<?> type) {
+        for (var i = 0; i < table.length; ++i) {
+            if (table[i] == type) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    static Class<?> innerGetArrayType(Class<?> type, int dimension) {
-        try {
-            if (type.isArray()) {
-                return Class.forName(
-                        ARRAY.repeat(dimension) + type.getName(),
-                        false,
-                        type.getClassLoader()
-                );
-            }
-            return Class.forName(
-                    ARRAY.repeat(dimension) + REFERENCE + type.getName() + ";",
-                    false,
-                    type.getClassLoader()
-            );
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+    private static int getPrimitiveIndex(Class<?> type) {
+        return type.isPrimitive() ? indexOf(PRIMITIVES, type) : -1;
+    }
+
+    private static int getPrimitiveIndex(char descriptor) {
+        switch (descriptor) {
+            case 'Z':
+                return 0;
+            case 'C':
+                return 1;
+            case 'B':
+                return 2;
+            case 'S':
+                return 3;
+            case 'I':
+                return 4;
+            case 'J':
+                return 5;
+            case 'F':
+                return 6;
+            case 'D':
+                return 7;
+            case 'V':
+                return 8;
+            default:
+                return -1;
+        }
+    }
+
+    static Class<?> getPrimitive(String name) {
+        switch (name) {
+            case "boolean":
+                return boolean.class;
+            case "char":
+                return char.class;
+            case "byte":
+                return byte.class;
+            case "short":
+                return short.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return float.class;
+            case "double":
+                return double.class;
+            case "void":
+                return void.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Checks whether the specified type is a wrapper of a primitive, for example, {@link Integer} or {@link Void}.
+     *
+     * @param type the specified type, may be null
+     * @return true if the type is a wrapper, false otherwise
+     */
+    public static boolean isWrapper(Type type) {
+        return (type instanceof Class) && indexOf(WRAPPERS, (Class<?>) type) >= 0;
+    }
+
+    /**
+     * Returns the wrapper of the specified type, if it is a primitive, or the type itself otherwise.
+     * For example, wrap(int.class) =&gt; Integer.class, wrap(String.class) =&gt; String.class.
+     *
+     * @param type the specified type, must be non-null
+     * @param <T>  the type of the specified class
+     * @return {@link Class} instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> wrap(Class<T> type) {
+        Objects.requireNonNull(type);
+        var index = getPrimitiveIndex(type);
+        return index < 0 ? type : (Class<T>) WRAPPERS[index];
+    }
+
+    /**
+     * Returns the primitive of the specified type, if it is a wrapper, or the type itself otherwise.
+     * For example, unwrap(Integer.class) =&gt; int.class, unwrap(String.class) =&gt; String.class.
+     *
+     * @param type the specified type, must be non-null
+     * @param <T>  the type of the specified class
+     * @return {@link Class} instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> unwrap(Class<T> type) {
+        Objects.requireNonNull(type);
+        var index = indexOf(WRAPPERS, type);
+        return index < 0 ? type : (Class<T>) PRIMITIVES[index];
+    }
+
+    /**
+     * Returns the array type of the specified primitive, for example, int.class =&gt; int[].class.
+     *
+     * @param type the specified primitive, must be non-null and not void
+     * @return {@link Class} instance
+     * @throws IllegalArgumentException if the specified type is not a primitive or is void
+     */
+    public static Class<?> getPrimitiveArrayType(Class<?> type) {
+        var index = getPrimitiveIndex(type);
+        if (index < 0 || PRIMITIVE_ARRAYS[index] == null) {
+            throw new IllegalArgumentException("Illegal primitive: " + type);
+        }
+        return PRIMITIVE_ARRAYS[index];
+    }
+
+    /**
+     * Returns the descriptor char of the specified primitive, for example, int.class =&gt; 'I'.
+     *
+     * @param type the specified primitive, must be non-null
+     * @return descriptor char
+     * @throws IllegalArgumentException if the specified type is not a primitive
+     */
+    public static char getPrimitiveDescriptor(Class<?> type) {
+        var index = getPrimitiveIndex(type);
+        if (index < 0) {
+            throw new IllegalArgumentException("Not a primitive: " + type);
         }
+        return DESCRIPTORS[index];
+    }
+
+    /**
+     * Returns the primitive with the specified descriptor char, for example, 'I' =&gt; int.class.
+     *
+     * @param descriptor the specified descriptor char
+     * @return {@link Class} instance or null, if there is no primitive with the specified descriptor
+     */
+    public static Class<?> getPrimitive(char descriptor) {
+        var index = getPrimitiveIndex(descriptor);
+        return index < 0 ? null : PRIMITIVES[index];
+    }
+
+    static void append(StringBuilder builder, Type type) {
+        if (type instanceof Class) {
+            builder.append(((Class<?>) type).getName());
+        } else if (type instanceof ParameterizedTypeImpl) {
+            ((ParameterizedTypeImpl) type).appendTo(builder);
+        } else if (type instanceof GenericArrayTypeImpl) {
+            ((GenericArrayTypeImpl) type).appendTo(builder);
+        } else if (type instanceof WildcardTypeImpl) {
+            ((WildcardTypeImpl) type).appendTo(builder);
+        } else if (type instanceof TaggedTypeImpl) {
+            ((TaggedTypeImpl) type).appendTo(builder);
+        } else {
+            builder.append(type);
+        }
+    }
+
+    /**
+     * Appends the name of the specified type to the specified {@link StringBuilder}.
+     * The result is the same as the string representation of the type,
+     * but the jtype implementations render their whole tree into the passed builder
+     * without allocating intermediate strings.
+     *
+     * @param builder the specified {@link StringBuilder} instance, must be non-null
+     * @param type    the specified type, must be non-null
+     * @return the passed {@link StringBuilder} instance
+     */
+    public static StringBuilder appendTypeName(StringBuilder builder, Type type) {
+        Objects.requireNonNull(builder);
+        Objects.requireNonNull(type);
+        append(builder, type);
+        return builder;
+    }
+
+    static Class<?> innerGetArrayType(Class<?> type, int dimension) {
+        return ARRAY_TYPES.get(type).get(dimension);
     }
 
     /**
@@ -55,32 +240,42 @@ public final class TypeUtil {
      * 1) getArrayType(String.class, 1) =&gt; String[].class
      * <br>
      * 2) getArrayType(String[].class, 1) =&gt; String[][].class
+     * <br>
+     * Array types are derived directly from the component class, so the method works for primitive,
+     * hidden and anonymous classes, and the result is cached after the first call.
      *
-     * @param type      the specified component type, must be non-null
-     * @param dimension the specified dimension, must be greater or equal 1
+     * @param type      the specified component type, must be non-null and not void
+     * @param dimension the specified dimension, must be between 1 and 255
      * @return {@link Class} instance
+     * @throws IllegalArgumentException if the dimension or the resulting number of dimensions exceeds 255
      */
     public static Class<?> getArrayType(Class<?> type, int dimension) {
         Objects.requireNonNull(type);
-        if (dimension < 1) {
+        if (dimension < 1 || dimension > MAX_DIMENSION) {
             throw new IllegalArgumentException("Illegal array dimension: " + dimension);
         }
+        if (type == void.class) {
+            throw new IllegalArgumentException("Illegal array component: " + type);
+        }
         return innerGetArrayType(type, dimension);
     }
 
+    /**
+     * Creates an array type with the specified component type.
+     * The same as {@code getArrayType(type, 1)}.
+     *
+     * @param type the specified component type, must be non-null and not void
+     * @return {@link Class} instance
+     */
+    public static Class<?> getArrayType(Class<?> type) {
+        return getArrayType(type, 1);
+    }
+
     static Class<?> innerGetRawType(GenericArrayType type) {
-        var temp = (Type) type;
-        var count = 0;
-        while (temp instanceof GenericArrayType) {
-            temp = ((GenericArrayType) temp).getGenericComponentType();
-            ++count;
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).getRawType();
         }
-        if (temp instanceof TypeVariable) {
-            return innerGetArrayType(Object.class, count);
-        }
-        var parameterized = (ParameterizedType) temp;
-        var clazz = (Class<?>) parameterized.getRawType();
-        return innerGetArrayType(clazz, count);
+        return findRawType(type);
     }
 
     /**
@@ -94,31 +289,44 @@ public final class TypeUtil {
         return innerGetRawType(array);
     }
 
+    private static Class<?> walk(Type type, boolean erase) {
+        // Walks the chain of components without recursion, so the deeply nested types are safe
+        var current = type;
+        var dimension = 0;
+        while (!(current instanceof Class)) {
+            if (current instanceof ParameterizedType) {
+                current = ((ParameterizedType) current).getRawType();
+            } else if (current instanceof GenericArrayType) {
+                current = ((GenericArrayType) current).getGenericComponentType();
+                ++dimension;
+            } else if (current instanceof TypeVariable) {
+                // We cannot statically derive a generic, so we use type erasure.
+                current = erase ? eraseVariable((TypeVariable<?>) current) : Object.class;
+            } else if (current instanceof TaggedType) {
+                current = ((TaggedType) current).getRawType();
+            } else if (current instanceof WildcardType) {
+                // The first bound is the leftmost one, as for the type variables
+                current = ((WildcardType) current).getUpperBounds()[0];
+            } else {
+                throw new IllegalTypeException("Unexpected type implementation", current);
+            }
+        }
+        var ret = (Class<?>) current;
+        return dimension == 0 ? ret : innerGetArrayType(ret, dimension);
+    }
+
+    static Class<?> findRawType(Type type) {
+        return walk(type, false);
+    }
+
     static Class<?> innerGetRawType(Type type) {
         if (type instanceof Class) {
             return (Class<?>) type;
         }
-        if (type instanceof ParameterizedType) {
-            return (Class<?>) ((ParameterizedType) type).getRawType();
-        }
-        if (type instanceof GenericArrayType) {
-            return innerGetRawType((GenericArrayType) type);
-        }
-        if (type instanceof TypeVariable) {
-            // We cannot statically derive a generic, so we use type erasure.
-            return Object.class;
-        }
-        if (type instanceof TaggedType) {
-            return innerGetRawType(((TaggedType) type).getRawType());
+        if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).getRawType();
         }
-        if (type instanceof WildcardType) {
-            var bounds = ((WildcardType) type).getUpperBounds();
-            if (bounds.length != 1) {
-                throw new IllegalTypeException("Multiple wildcards are not supported", type);
-            }
-            return innerGetRawType(bounds[0]);
-        }
-        throw new IllegalTypeException("Unexpected type implementation", type);
+        return findRawType(type);
     }
 
     /**
@@ -133,11 +341,7 @@ public final class TypeUtil {
     }
 
     static Class<?> innerGetRawType(WildcardType type) {
-        var bounds = type.getUpperBounds();
-        if (bounds.length != 1) {
-            throw new IllegalTypeException("Multiple wildcards are not supported", type);
-        }
-        return innerGetRawType(bounds[0]);
+        return findRawType(type);
     }
 
     /**
@@ -150,4 +354,265 @@ public final class TypeUtil {
         Objects.requireNonNull(type);
         return innerGetRawType(type);
     }
+
+    private static Class<?> eraseVariable(TypeVariable<?> variable) {
+        return ERASURES.computeIfAbsent(variable, key -> innerErase(key.getBounds()[0]));
+    }
+
+    static Class<?> innerErase(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        return walk(type, true);
+    }
+
+    /**
+     * Returns the erasure of the specified type (see JLS 4.6). Unlike {@link #getRawType(Type)},
+     * type variables are erased to the erasure of their leftmost bound, so the erasure of {@code T}
+     * declared as {@code T extends Number & Comparable<T>} is {@code Number}.
+     * Wildcards are erased to the erasure of their first upper bound.
+     * The erasures of type variables are cached.
+     *
+     * @param type the specified {@link Type} instance, must be non-null
+     * @return {@link Class} instance, containing erased type
+     */
+    public static Class<?> erase(Type type) {
+        Objects.requireNonNull(type);
+        return innerErase(type);
+    }
+
+    private static Type bound(TypeVariable<?>[] variables, Type[] arguments, TypeVariable<?> variable) {
+        var length = variables.length;
+        for (var i = 0; i < length; ++i) {
+            if (variables[i].equals(variable)) {
+                var argument = arguments[i];
+                // The bounds may refer to the variables being captured, which are erased to break the cycles
+                return argument == null ? innerErase(variable) : argument;
+            }
+        }
+        return variable;
+    }
+
+    private static Type captureArguments(Type type) {
+        var parameterized = (ParameterizedType) type;
+        var variables = ((Class<?>) parameterized.getRawType()).getTypeParameters();
+        var arguments = parameterized.getActualTypeArguments();
+        var length = arguments.length;
+        if (variables.length != length) {
+            return type;
+        }
+        // Non-wildcard arguments and explicit upper bounds, null for the arguments without them
+        var known = new Type[length];
+        var changed = false;
+        for (var i = 0; i < length; ++i) {
+            var argument = arguments[i];
+            if (!(argument instanceof WildcardType)) {
+                known[i] = argument;
+                continue;
+            }
+            changed = true;
+            var upper = ((WildcardType) argument).getUpperBounds()[0];
+            if (upper != Object.class) {
+                known[i] = upper;
+            }
+        }
+        if (!changed) {
+            return type;
+        }
+        var captured = known.clone();
+        for (var i = 0; i < length; ++i) {
+            if (!(arguments[i] instanceof WildcardType)) {
+                continue;
+            }
+            var declared = TypeResolver.substitute(variables[i].getBounds()[0], v -> bound(variables, known, v));
+            // The more specific of the explicit and the declared bounds approximates their intersection
+            if (captured[i] == null || Assignability.innerIsAssignable(declared, captured[i])) {
+                captured[i] = declared;
+            }
+        }
+        return Types.innerIntern(new ParameterizedTypeImpl(parameterized.getOwnerType(), parameterized.getRawType(), captured));
+    }
+
+    static Type innerCapture(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return Types.innerIntern(type);
+        }
+        var ret = CAPTURES.get(type);
+        if (ret != null) {
+            return ret;
+        }
+        return CAPTURES.computeIfAbsent(Types.innerIntern(type), TypeUtil::captureArguments);
+    }
+
+    /**
+     * Applies capture conversion (see JLS 5.1.10) to the top-level type arguments of the specified
+     * parameterized type. The reflection API provides no way to create fresh type variables, so each captured
+     * wildcard is replaced with its upper bound: the explicit one for {@code ? extends B}, or the bound declared
+     * by the corresponding type parameter for {@code ?} and {@code ? super B}. The type parameters referenced
+     * by the declared bounds are replaced with the captured non-wildcard arguments or erased.
+     * For example, the capture of {@code Map<? extends Number, ?>} is {@code Map<Number, Object>},
+     * and the capture of {@code Enum<?>} is {@code Enum<Enum<Enum>>}.
+     * <br>
+     * For {@code ? extends B}, JLS combines both bounds as glb(B, declared bound). The intersection types cannot
+     * be represented, so the more specific of the two bounds is used if one of them is a subtype of the other,
+     * and B otherwise. In the latter case the result may violate the declared bound of the type parameter.
+     * <br>
+     * Types other than parameterized ones are returned interned, but otherwise unchanged.
+     * The results are canonical and interned (see {@link Types#intern(Type)}),
+     * and the captures of parameterized types are cached.
+     *
+     * @param type the specified {@link Type} instance, must be non-null
+     * @return {@link Type} instance, containing captured type
+     */
+    public static Type capture(Type type) {
+        Objects.requireNonNull(type);
+        return innerCapture(type);
+    }
+
+    private static void checkLength(int length, Class<?>[] result) {
+        if (result.length < length) {
+            throw new IllegalArgumentException("The result array is too short: " + result.length + " < " + length);
+        }
+    }
+
+    private static void extractRawTypes(Type[] types, Class<?>[] result, int from, int to) {
+        Type last = null;
+        Class<?> raw = null;
+        for (var i = from; i < to; ++i) {
+            var type = types[i];
+            // Interned and shared types are often repeated, so the previous result is reused
+            if (type != last || raw == null) {
+                raw = innerGetRawType(Objects.requireNonNull(type));
+                last = type;
+            }
+            result[i] = raw;
+        }
+    }
+
+    /**
+     * Extracts raw types from the specified types into the specified array.
+     * The raw type of the i-th type is stored at the i-th position of the result array.
+     * As in {@link #getRawType(Type)}, the raw type of a type variable is {@link Object}, unlike in
+     * {@link #getRawTypes(Field[], Class[])}, which uses the erasures of the bounds.
+     *
+     * @param types    the specified types, must be non-null and must not contain nulls
+     * @param result   the specified array, must be non-null and not shorter than the types array
+     * @param parallel true if the large arrays of types should be processed in parallel
+     * @return the passed result array
+     */
+    public static Class<?>[] getRawTypes(Type[] types, Class<?>[] result, boolean parallel) {
+        var length = types.length;
+        checkLength(length, result);
+        if (!parallel || length < PARALLEL_THRESHOLD) {
+            extractRawTypes(types, result, 0, length);
+            return result;
+        }
+        // Each chunk reuses the results within itself
+        var chunks = (length + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            var from = chunk * PARALLEL_THRESHOLD;
+            extractRawTypes(types, result, from, Math.min(from + PARALLEL_THRESHOLD, length));
+        });
+        return result;
+    }
+
+    /**
+     * Extracts raw types from the specified types into the specified array sequentially.
+     * The same as {@code getRawTypes(types, result, false)}.
+     *
+     * @param types  the specified types, must be non-null and must not contain nulls
+     * @param result the specified array, must be non-null and not shorter than the types array
+     * @return the passed result array
+     */
+    public static Class<?>[] getRawTypes(Type[] types, Class<?>[] result) {
+        return getRawTypes(types, result, false);
+    }
+
+    /**
+     * Extracts raw types from the specified types.
+     *
+     * @param types the specified types, must be non-null and must not contain nulls
+     * @return {@link Class} array, containing raw types
+     */
+    public static Class<?>[] getRawTypes(Type[] types) {
+        return getRawTypes(types, new Class<?>[types.length], false);
+    }
+
+    /**
+     * Extracts raw types of the specified fields into the specified array.
+     * The erasures of the declared types are used, so the generic signatures of the fields are not parsed,
+     * and the raw type of a field of a type variable is the erasure of its first bound (see {@link #erase(Type)}).
+     * For example, the raw type of {@code T value} declared in {@code Holder<T extends String>} is {@link String},
+     * while {@code getRawTypes(Type[], Class[])} returns {@link Object} for its generic type.
+     *
+     * @param fields the specified fields, must be non-null and must not contain nulls
+     * @param result the specified array, must be non-null and not shorter than the fields array
+     * @return the passed result array
+     */
+    public static Class<?>[] getRawTypes(Field[] fields, Class<?>[] result) {
+        var length = fields.length;
+        checkLength(length, result);
+        for (var i = 0; i < length; ++i) {
+            result[i] = fields[i].getType();
+        }
+        return result;
+    }
+
+    /**
+     * Extracts raw types of the parameters of the specified method or constructor into the specified array.
+     * The erasures of the declared types are used, so the generic signature of the executable is not parsed.
+     *
+     * @param executable the specified method or constructor, must be non-null
+     * @param result     the specified array, must be non-null and not shorter than the number of parameters
+     * @return the passed result array
+     */
+    public static Class<?>[] getParameterRawTypes(Executable executable, Class<?>[] result) {
+        var length = executable.getParameterCount();
+        checkLength(length, result);
+        System.arraycopy(executable.getParameterTypes(), 0, result, 0, length);
+        return result;
+    }
+
+    private static final class ArrayTypeCache {
+        private final Class<?> component;
+        // Array types indexed by dimension - 1
+        private volatile Class<?>[] types;
+
+        private ArrayTypeCache(Class<?> component) {
+            this.component = component;
+            this.types = new Class<?>[0];
+        }
+
+        private Class<?> get(int dimension) {
+            var types = this.types;
+            if (dimension <= types.length) {
+                var ret = types[dimension - 1];
+                if (ret != null) {
+                    return ret;
+                }
+            }
+            return load(dimension);
+        }
+
+        private synchronized Class<?> load(int dimension) {
+            var types = this.types;
+            if (dimension <= types.length && types[dimension - 1] != null) {
+                return types[dimension - 1];
+            }
+            types = Arrays.copyOf(types, Math.max(types.length, dimension));
+            // Each dimension is derived from the previous one, which is cached as well
+            var ret = component;
+            for (var i = 0; i < dimension; ++i) {
+                var current = types[i];
+                if (current == null) {
+                    // Throws IllegalArgumentException if the JVM limit is exceeded
+                    current = Array.newInstance(ret, 0).getClass();
+                    types[i] = current;
+                }
+                ret = current;
+            }
+            this.types = types;
+            return ret;
+        }
+    }
 }
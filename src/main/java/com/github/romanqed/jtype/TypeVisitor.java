@@ -0,0 +1,105 @@
+package com.github.romanqed.jtype;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * An interface describing a visitor over the kinds of {@link Type}:
+ * classes, parameterized types, generic arrays, wildcards, type variables and tagged types.
+ * The visitor does not descend into the components of the visited types by itself,
+ * so the traversal order is up to the implementation.
+ *
+ * @param <R> the type of the visiting result
+ */
+public interface TypeVisitor<R> {
+
+    /**
+     * Visits the specified type by calling the method corresponding to its kind.
+     *
+     * @param type the specified type, must be non-null
+     * @return the visiting result
+     */
+    default R visit(Type type) {
+        if (type instanceof Class) {
+            return visitClass((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            return visitParameterized((ParameterizedType) type);
+        }
+        if (type instanceof GenericArrayType) {
+            return visitGenericArray((GenericArrayType) type);
+        }
+        if (type instanceof WildcardType) {
+            return visitWildcard((WildcardType) type);
+        }
+        if (type instanceof TypeVariable) {
+            return visitVariable((TypeVariable<?>) type);
+        }
+        if (type instanceof TaggedType) {
+            return visitTagged((TaggedType) type);
+        }
+        return visitOther(type);
+    }
+
+    /**
+     * Visits the specified class.
+     *
+     * @param type the specified {@link Class} instance
+     * @return the visiting result
+     */
+    R visitClass(Class<?> type);
+
+    /**
+     * Visits the specified parameterized type.
+     *
+     * @param type the specified {@link ParameterizedType} instance
+     * @return the visiting result
+     */
+    R visitParameterized(ParameterizedType type);
+
+    /**
+     * Visits the specified generic array type.
+     *
+     * @param type the specified {@link GenericArrayType} instance
+     * @return the visiting result
+     */
+    R visitGenericArray(GenericArrayType type);
+
+    /**
+     * Visits the specified wildcard type.
+     *
+     * @param type the specified {@link WildcardType} instance
+     * @return the visiting result
+     */
+    R visitWildcard(WildcardType type);
+
+    /**
+     * Visits the specified type variable.
+     *
+     * @param type the specified {@link TypeVariable} instance
+     * @return the visiting result
+     */
+    R visitVariable(TypeVariable<?> type);
+
+    /**
+     * Visits the specified tagged type.
+     *
+     * @param type the specified {@link TaggedType} instance
+     * @return the visiting result
+     */
+    R visitTagged(TaggedType type);
+
+    /**
+     * Visits the specified type, that does not belong to any of the known kinds.
+     * By default, throws {@link IllegalTypeException}.
+     *
+     * @param type the specified type
+     * @return the visiting result
+     */
+    default R visitOther(Type type) {
+        throw new IllegalTypeException("Unexpected type implementation", type);
+    }
+}
@@ -3,6 +3,7 @@ package com.github.romanqed.jtype;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Objects;
 
@@ -12,8 +13,16 @@ import java.util.Objects;
  * This class cannot be instantiated.
  */
 public final class Types {
-    private static final Type[] EMPTY_ARRAY = new Type[0];
-    private static final Type[] UPPERS = new Type[]{Object.class};
+    /**
+     * The maximum nesting depth of types. Types nested deeper than 128 levels
+     * are processed using an explicit stack instead of recursion, so the operations on them are safe
+     * for threads with small stacks, but types nested deeper than this limit cannot be created,
+     * and {@link IllegalTypeException} is thrown instead.
+     */
+    public static final int MAX_DEPTH = 1 << 16;
+    static final Type[] EMPTY_ARRAY = new Type[0];
+    static final Type[] UPPERS = new Type[]{Object.class};
+    private static final WeakInterner<Type> INTERNER = new WeakInterner<>();
 
     private Types() {
     }
@@ -21,55 +30,100 @@ public final class Types {
     /**
      * Re-instantiates the passed type with jtype implementations
      * to maintain the consistency of the equals and hashCode methods.
+     * The subtrees consisting of jtype implementations are detected without traversal and reused,
+     * so only the foreign nodes are re-instantiated, and an already canonical type is returned as is.
      *
      * @param type the specified type, may be null
      * @return {@link Type} instance or null
+     * @throws IllegalTypeException if the type is nested deeper than {@link #MAX_DEPTH}
      */
     public static Type canonicalize(Type type) {
-        if (type == null) {
-            return null;
+        if (TypeTraversal.isCanonical(type)) {
+            return type;
+        }
+        if (TypeTraversal.isShallow(type)) {
+            return CanonicalTransformer.INSTANCE.transform(type);
+        }
+        return TypeTraversal.canonicalize(type);
+    }
+
+    private static Type[] intern(Type[] types, int depth) {
+        var length = types.length;
+        if (length == 0) {
+            return EMPTY_ARRAY;
+        }
+        var ret = new Type[length];
+        for (var i = 0; i < length; ++i) {
+            ret[i] = intern(types[i], depth);
+        }
+        return ret;
+    }
+
+    private static Type intern(Type type, int depth) {
+        if (type == null || type instanceof Class || type instanceof TypeVariable) {
+            return type;
+        }
+        // All jtype implementations are compatible with the jdk ones in terms of equals and hashCode,
+        // so the already interned instance can be found without rebuilding the passed type
+        var found = INTERNER.get(type);
+        if (found != null) {
+            return found;
+        }
+        if (depth == TypeTraversal.RECURSION_LIMIT) {
+            return TypeTraversal.intern(type);
         }
+        ++depth;
+        Type ret;
         if (type instanceof GenericArrayType) {
             var component = ((GenericArrayType) type).getGenericComponentType();
-            return new GenericArrayTypeImpl(canonicalize(component));
-        }
-        if (type instanceof ParameterizedType) {
+            ret = new GenericArrayTypeImpl(intern(component, depth));
+        } else if (type instanceof ParameterizedType) {
             var parameterized = (ParameterizedType) type;
-            var owner = canonicalize(parameterized.getOwnerType());
-            var raw = canonicalize(parameterized.getRawType());
-            var old = parameterized.getActualTypeArguments();
-            var length = old.length;
-            var types = new Type[length];
-            for (var i = 0; i < length; ++i) {
-                types[i] = canonicalize(old[i]);
-            }
-            return new ParameterizedTypeImpl(
-                    owner,
-                    raw,
-                    types
+            ret = new ParameterizedTypeImpl(
+                    intern(parameterized.getOwnerType(), depth),
+                    intern(parameterized.getRawType(), depth),
+                    intern(ParameterizedTypeImpl.argumentsOf(parameterized), depth)
             );
-        }
-        if (type instanceof WildcardType) {
+        } else if (type instanceof WildcardType) {
             var wildcard = (WildcardType) type;
-            var oldUppers = wildcard.getUpperBounds();
-            var length = oldUppers.length;
-            var uppers = new Type[length];
-            for (var i = 0; i < length; ++i) {
-                uppers[i] = canonicalize(oldUppers[i]);
-            }
-            var oldLowers = wildcard.getLowerBounds();
-            length = oldLowers.length;
-            var lowers = new Type[length];
-            for (var i = 0; i < length; ++i) {
-                lowers[i] = canonicalize(oldLowers[i]);
-            }
-            return new WildcardTypeImpl(uppers, lowers);
-        }
-        if (type instanceof TaggedType) {
+            ret = new WildcardTypeImpl(intern(wildcard.getUpperBounds(), depth), intern(wildcard.getLowerBounds(), depth));
+        } else if (type instanceof TaggedType) {
             var tagged = (TaggedType) type;
-            return new TaggedTypeImpl(canonicalize(tagged.getRawType()), tagged.getTags());
+            ret = TaggedTypeImpl.copyOf(tagged, intern(tagged.getRawType(), depth));
+        } else {
+            return type;
         }
-        return type;
+        return INTERNER.intern(ret);
+    }
+
+    static Type innerIntern(Type type) {
+        return intern(type, 0);
+    }
+
+    static Type findInterned(Type type) {
+        return INTERNER.get(type);
+    }
+
+    // The passed type must be a jtype implementation with interned components
+    static Type internInstance(Type type) {
+        return INTERNER.intern(type);
+    }
+
+    /**
+     * Returns the unique canonical instance of the passed type.
+     * The type is re-instantiated with jtype implementations in the same way as
+     * {@link #canonicalize(Type)} does, after which it and all its components are interned,
+     * so any two equal types passed to this method will result in the same instance.
+     * This allows equal interned types to be compared by reference.
+     * <br>
+     * Interned instances are weakly referenced, so they are released as soon as they are
+     * no longer used and do not keep the class loaders of their components alive.
+     *
+     * @param type the specified type, may be null
+     * @return {@link Type} instance or null
+     */
+    public static Type intern(Type type) {
+        return innerIntern(type);
     }
 
     /**
@@ -186,4 +240,20 @@ public final class Types {
         Objects.requireNonNull(tags);
         return new TaggedTypeImpl(type, tags.clone());
     }
+
+    /**
+     * Creates {@link TaggedType} instance with the specified raw type and set of tags.
+     * The tags are deduplicated and sorted once, so the types created with the same tags
+     * in any order are equal and have the same hash code (see {@link TaggedType#isOrdered()}).
+     * Such types are not equal to the types with ordered tags.
+     *
+     * @param type the specified raw type, must be non-null
+     * @param tags the specified tags, must be non-null
+     * @return {@link TaggedType} instance
+     */
+    public static TaggedType ofUnordered(Type type, Object[] tags) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(tags);
+        return new TaggedTypeImpl(type, TaggedTypeImpl.normalize(tags), true);
+    }
 }
@@ -0,0 +1,74 @@
+package com.github.romanqed.jtype;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class WeakInterner<T> {
+    private final ConcurrentHashMap<Entry<T>, Entry<T>> entries;
+    private final ReferenceQueue<T> queue;
+
+    WeakInterner() {
+        this.entries = new ConcurrentHashMap<>();
+        this.queue = new ReferenceQueue<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expunge() {
+        Entry<T> entry;
+        while ((entry = (Entry<T>) queue.poll()) != null) {
+            entries.remove(entry, entry);
+        }
+    }
+
+    T get(T value) {
+        var found = entries.get(new Entry<>(value, null));
+        return found == null ? null : found.get();
+    }
+
+    T intern(T value) {
+        expunge();
+        var entry = new Entry<>(value, queue);
+        while (true) {
+            var present = entries.putIfAbsent(entry, entry);
+            if (present == null) {
+                return value;
+            }
+            var interned = present.get();
+            if (interned != null) {
+                return interned;
+            }
+            // The previous instance has been collected, but its entry has not been expunged yet
+            entries.remove(present, present);
+        }
+    }
+
+    int size() {
+        expunge();
+        return entries.size();
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        private final int hash;
+
+        private Entry(T referent, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.hash = referent.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            var that = (Entry<?>) o;
+            if (hash != that.hash) return false;
+            var referent = get();
+            return referent != null && referent.equals(that.get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.romanqed.jtype;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
@@ -13,10 +15,37 @@ final class WildcardTypeImpl implements WildcardType, Serializable {
     // however for future changes this implementation will allow for multiple bounds
     private final Type[] uppers;
     private final Type[] lowers;
+    private transient int depth;
+    private transient boolean canonical;
+    private transient int hash;
+    private transient String name;
+    private transient Class<?> anchor;
 
     WildcardTypeImpl(Type[] uppers, Type[] lowers) {
         this.uppers = uppers;
         this.lowers = lowers;
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
+    }
+
+    private int computeDepth() {
+        var upper = TypeTraversal.depthOf(uppers);
+        var lower = TypeTraversal.depthOf(lowers);
+        if (lower > upper) {
+            return TypeTraversal.nest(lower, lowers[0]);
+        }
+        // The bounds of the too deep wildcards are not empty
+        return uppers.length == 0 ? 1 : TypeTraversal.nest(upper, uppers[0]);
+    }
+
+    private boolean computeCanonical() {
+        return TypeTraversal.isCanonical(uppers) && TypeTraversal.isCanonical(lowers);
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.depth = computeDepth();
+        this.canonical = computeCanonical();
     }
 
     @Override
@@ -29,22 +58,82 @@ final class WildcardTypeImpl implements WildcardType, Serializable {
         return lowers.clone();
     }
 
-    @Override
-    public String getTypeName() {
+    Type[] uppers() {
+        return uppers;
+    }
+
+    Type[] lowers() {
+        return lowers;
+    }
+
+    Class<?> anchor() {
+        var ret = anchor;
+        if (ret == null) {
+            ret = TypeCache.findAnchor(this);
+            anchor = ret;
+        }
+        return ret;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    boolean isHashed() {
+        return hash != 0;
+    }
+
+    void appendTo(StringBuilder builder) {
+        if (name != null) {
+            builder.append(name);
+            return;
+        }
+        if (depth > TypeTraversal.RECURSION_LIMIT) {
+            TypeTraversal.append(builder, this);
+            return;
+        }
         // Implemented for current language spec
         if (lowers.length != 0) {
-            return "? super " + TypeUtil.toString(lowers[0]);
+            builder.append("? super ");
+            TypeUtil.append(builder, lowers[0]);
+            return;
         }
         if (uppers[0] == Object.class) {
-            return "?";
+            builder.append('?');
+            return;
         }
-        return "? extends " + TypeUtil.toString(uppers[0]);
+        builder.append("? extends ");
+        TypeUtil.append(builder, uppers[0]);
+    }
+
+    @Override
+    public String getTypeName() {
+        var ret = name;
+        if (ret == null) {
+            var builder = new StringBuilder();
+            appendTo(builder);
+            ret = builder.toString();
+            name = ret;
+        }
+        return ret;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
+        if (o instanceof WildcardTypeImpl) {
+            var that = (WildcardTypeImpl) o;
+            if (hashCode() != that.hashCode()) return false;
+            if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, that);
+            return Arrays.equals(uppers, that.uppers)
+                    && Arrays.equals(lowers, that.lowers);
+        }
         if (!(o instanceof WildcardType)) return false;
+        if (depth > TypeTraversal.RECURSION_LIMIT) return TypeTraversal.equals(this, (WildcardType) o);
         var that = (WildcardType) o;
         return Arrays.equals(uppers, that.getUpperBounds())
                 && Arrays.equals(lowers, that.getLowerBounds());
@@ -52,8 +141,15 @@ final class WildcardTypeImpl implements WildcardType, Serializable {
 
     @Override
     public int hashCode() {
-        // Hash from openjdk
-        return Arrays.hashCode(lowers) ^ Arrays.hashCode(uppers);
+        var ret = hash;
+        if (ret == 0) {
+            // Hash from openjdk
+            ret = depth > TypeTraversal.RECURSION_LIMIT
+                    ? TypeTraversal.hashCode(this)
+                    : Arrays.hashCode(lowers) ^ Arrays.hashCode(uppers);
+            hash = ret;
+        }
+        return ret;
     }
 
     @Override
@@ -0,0 +1,110 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static com.github.romanqed.jtype.Assignability.isAssignable;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssignabilityTest {
+
+    @Test
+    public void testClasses() {
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> isAssignable(null, Object.class)),
+                () -> assertTrue(isAssignable(Integer.class, Number.class)),
+                () -> assertFalse(isAssignable(Number.class, Integer.class)),
+                () -> assertFalse(isAssignable(int.class, long.class)),
+                () -> assertTrue(isAssignable(String[].class, Object[].class))
+        );
+    }
+
+    @Test
+    public void testParameterized() {
+        var list = Types.of(ArrayList.class, Integer.class);
+        assertAll(
+                () -> assertTrue(isAssignable(list, Types.of(List.class, Types.subtypeOf(Number.class)))),
+                () -> assertTrue(isAssignable(list, Types.of(Collection.class, Types.subtypeOf(Object.class)))),
+                () -> assertTrue(isAssignable(list, Types.of(Iterable.class, Integer.class))),
+                () -> assertTrue(isAssignable(list, Object.class)),
+                () -> assertTrue(isAssignable(list, List.class)),
+                () -> assertFalse(isAssignable(list, Types.of(List.class, Number.class))),
+                () -> assertFalse(isAssignable(list, Types.of(Map.class, Integer.class, Integer.class))),
+                () -> assertTrue(isAssignable(
+                        Types.of(List.class, Object.class),
+                        Types.of(List.class, Types.supertypeOf(Integer.class))
+                )),
+                () -> assertFalse(isAssignable(
+                        Types.of(List.class, Types.subtypeOf(Integer.class)),
+                        Types.of(List.class, Integer.class)
+                ))
+        );
+    }
+
+    @Test
+    public void testRaw() {
+        assertAll(
+                () -> assertTrue(isAssignable(ArrayList.class, Types.of(List.class, Types.subtypeOf(Object.class)))),
+                () -> assertFalse(isAssignable(ArrayList.class, Types.of(List.class, String.class))),
+                () -> assertTrue(isAssignable(StringList.class, Types.of(List.class, String.class)))
+        );
+    }
+
+    @Test
+    public void testArrays() {
+        var array = Types.of(Types.of(List.class, String.class));
+        assertAll(
+                () -> assertTrue(isAssignable(array, Object[].class)),
+                () -> assertTrue(isAssignable(array, List[].class)),
+                () -> assertTrue(isAssignable(array, Serializable.class)),
+                () -> assertTrue(isAssignable(array, Types.of(Types.of(List.class, Types.subtypeOf(Object.class))))),
+                () -> assertFalse(isAssignable(array, Types.of(Types.of(List.class, Integer.class)))),
+                () -> assertFalse(isAssignable(array, String[].class))
+        );
+    }
+
+    @Test
+    public void testVariables() {
+        var variable = Bounded.class.getTypeParameters()[0];
+        assertAll(
+                () -> assertTrue(isAssignable(variable, variable)),
+                () -> assertTrue(isAssignable(variable, Number.class)),
+                () -> assertFalse(isAssignable(variable, Integer.class)),
+                () -> assertFalse(isAssignable(Integer.class, variable))
+        );
+    }
+
+    @Test
+    public void testTagged() {
+        var tagged = Types.of(Types.of(ArrayList.class, Integer.class), new Object[]{"primary"});
+        assertTrue(isAssignable(tagged, Types.of(List.class, Types.subtypeOf(Number.class))));
+    }
+
+    @Test
+    public void testIndex() {
+        var index = new TypeIndex<String>();
+        index.register(Object.class, "object");
+        index.register(Types.of(Collection.class, Types.subtypeOf(Object.class)), "collection");
+        var numbers = Types.of(ArrayList.class, Integer.class);
+        assertEquals("collection", index.find(numbers));
+        index.register(Types.of(List.class, Types.subtypeOf(Number.class)), "numbers");
+        assertAll(
+                () -> assertEquals(3, index.size()),
+                () -> assertEquals("numbers", index.find(numbers)),
+                () -> assertEquals("collection", index.find(Types.of(HashSet.class, Integer.class))),
+                () -> assertEquals("collection", index.find(StringList.class)),
+                () -> assertEquals("object", index.find(String.class)),
+                () -> assertNull(index.find(int.class))
+        );
+        assertEquals("numbers", index.unregister(Types.of(List.class, Types.subtypeOf(Number.class))));
+        assertEquals("collection", index.find(numbers));
+    }
+
+    public static final class StringList extends ArrayList<String> {
+    }
+
+    public static final class Bounded<T extends Number> {
+    }
+}
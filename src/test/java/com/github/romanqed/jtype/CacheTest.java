@@ -0,0 +1,188 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheTest {
+
+    @Test
+    public void testEviction() {
+        var cache = new TypeCache<Integer, String>(8);
+        for (var i = 0; i < 100; ++i) {
+            var value = String.valueOf(i);
+            assertEquals(value, cache.computeIfAbsent(i, String::valueOf));
+        }
+        var stats = cache.getStats();
+        assertAll(
+                () -> assertTrue(cache.size() <= 8),
+                () -> assertNull(stats.getName()),
+                () -> assertEquals(100, stats.getMisses()),
+                () -> assertEquals(0, stats.getHits()),
+                () -> assertEquals(100 - cache.size(), stats.getEvictions() + stats.getCollections())
+        );
+    }
+
+    @Test
+    public void testRecentlyUsed() {
+        var cache = new TypeCache<Integer, String>(8);
+        for (var i = 0; i < 8; ++i) {
+            cache.computeIfAbsent(i, String::valueOf);
+        }
+        cache.get(0);
+        cache.computeIfAbsent(8, String::valueOf);
+        assertAll(
+                () -> assertEquals("0", cache.get(0)),
+                () -> assertNull(cache.get(1)),
+                () -> assertEquals("8", cache.get(8))
+        );
+    }
+
+    @Test
+    public void testHits() {
+        var cache = new TypeCache<Integer, String>(8);
+        var value = cache.computeIfAbsent(1, String::valueOf);
+        assertAll(
+                () -> assertSame(value, cache.get(1)),
+                () -> assertSame(value, cache.computeIfAbsent(1, key -> "other")),
+                () -> assertNull(cache.get(2)),
+                () -> assertEquals(2, cache.getStats().getHits()),
+                () -> assertEquals(1, cache.getStats().getMisses())
+        );
+    }
+
+    @Test
+    public void testDisabled() {
+        var cache = new TypeCache<Integer, String>(0);
+        cache.computeIfAbsent(1, String::valueOf);
+        assertAll(
+                () -> assertEquals(0, cache.size()),
+                () -> assertNull(cache.get(1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new TypeCache<>(-1))
+        );
+    }
+
+    @Test
+    public void testProperties() {
+        System.setProperty(Caches.PREFIX + "test.capacity", "-5");
+        var negative = TypeCache.parseCapacity("test", 16);
+        System.setProperty(Caches.PREFIX + "test.capacity", " 32 ");
+        var valid = TypeCache.parseCapacity("test", 16);
+        System.clearProperty(Caches.PREFIX + "test.capacity");
+        assertAll(
+                () -> assertEquals(16, negative),
+                () -> assertEquals(32, valid),
+                () -> assertTrue(TypeCache.parseValues("Soft")),
+                () -> assertFalse(TypeCache.parseValues("STRONG")),
+                () -> assertFalse(TypeCache.parseValues("weak")),
+                () -> assertFalse(TypeCache.parseValues(null))
+        );
+    }
+
+    @Test
+    public void testAnchor() throws NoSuchFieldException {
+        var variable = Payload.class.getTypeParameters()[0];
+        assertAll(
+                () -> assertEquals(CacheTest.class, TypeCache.anchorOf(Types.of(List.class, CacheTest.class))),
+                () -> assertEquals(Payload.class, TypeCache.anchorOf(Types.of(String.class, new Object[]{new Payload<>()}))),
+                () -> assertEquals(Payload.class, TypeCache.anchorOf(variable)),
+                () -> assertEquals(Object.class, TypeCache.anchorOf(List.class.getTypeParameters()[0])),
+                () -> assertEquals(CacheTest.class, TypeCache.anchorOf(String.class, Types.of(CacheTest.class)))
+        );
+        // The anchors of jtype implementations are memoized and match the ones of other implementations
+        var jdk = CacheTest.class.getDeclaredField("sample").getGenericType();
+        var jtype = Types.canonicalize(jdk);
+        assertAll(
+                () -> assertNotSame(jdk, jtype),
+                () -> assertEquals(TypeCache.findAnchor(jdk), TypeCache.anchorOf(jtype)),
+                () -> assertEquals(CacheTest.class, TypeCache.anchorOf(jtype))
+        );
+    }
+
+    private static WeakReference<ClassLoader> fill(TypeCache<Type, String> cache) throws Exception {
+        var loader = new PayloadLoader();
+        var payload = loader.loadClass(Payload.class.getName());
+        assertNotSame(Payload.class, payload);
+        cache.computeIfAbsent(Types.of(List.class, payload), Type::getTypeName);
+        cache.computeIfAbsent(Types.of(payload), Type::getTypeName);
+        assertEquals(3, cache.size());
+        return new WeakReference<>(loader);
+    }
+
+    @Test
+    public void testUnloading() throws Exception {
+        var cache = new TypeCache<Type, String>(null, 16, TypeCache::anchorOf);
+        cache.computeIfAbsent(Types.of(List.class, String.class), Type::getTypeName);
+        var loader = fill(cache);
+        for (var i = 0; i < 100 && (loader.get() != null || cache.size() != 1); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertAll(
+                () -> assertNull(loader.get()),
+                () -> assertEquals(1, cache.size()),
+                () -> assertEquals(2, cache.getStats().getCollections()),
+                () -> assertEquals("java.util.List<java.lang.String>", cache.get(Types.of(List.class, String.class)))
+        );
+    }
+
+    @Test
+    public void testStats() {
+        var type = Types.of(List.class, String.class);
+        TypeSignatures.getSignature(type);
+        TypeSignatures.getSignature(type);
+        var stats = Caches.getStats("signatures");
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> Caches.getStats(null)),
+                () -> assertNotNull(stats),
+                () -> assertTrue(stats.getHits() >= 1),
+                () -> assertTrue(Caches.getStats().stream().anyMatch(s -> s.getName().equals("signatures"))),
+                () -> assertNull(Caches.getStats("unknown"))
+        );
+        Caches.clear();
+        assertAll(
+                () -> assertEquals(0, Caches.getStats("signatures").getSize()),
+                () -> assertEquals("Ljava/util/List<Ljava/lang/String;>;", TypeSignatures.getSignature(type))
+        );
+    }
+
+    @SuppressWarnings("unused")
+    private static Map<String, List<CacheTest>> sample;
+
+    public static final class Payload<T> {
+    }
+
+    // Loads its own copy of Payload, so the copy can be unloaded with the loader
+    private static final class PayloadLoader extends ClassLoader {
+
+        private PayloadLoader() {
+            super(CacheTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Payload.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                var ret = findLoadedClass(name);
+                if (ret != null) {
+                    return ret;
+                }
+                var path = name.replace('.', '/') + ".class";
+                try (var stream = getParent().getResourceAsStream(path)) {
+                    var bytes = stream.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodecTest {
+    private static final TypeCodec CODEC = new TypeCodec(CodecTest.class.getClassLoader());
+
+    private static void assertRoundTrip(Type type) {
+        assertEquals(type, CODEC.decode(CODEC.encode(type)));
+    }
+
+    @Test
+    public void testRoundTrip() throws NoSuchFieldException {
+        var tags = new Object[]{"primary", 1, -2L, true, RetentionPolicy.RUNTIME, null};
+        assertAll(
+                () -> assertRoundTrip(String.class),
+                () -> assertRoundTrip(int.class),
+                () -> assertRoundTrip(String[][].class),
+                () -> assertRoundTrip(Types.of(Map.Entry.class, String.class, int[].class)),
+                () -> assertRoundTrip(Types.of(Types.of(List.class, Types.supertypeOf(Number.class)), 2)),
+                () -> assertRoundTrip(Types.of(Types.of(List.class, Types.subtypeOf(Object.class)), tags)),
+                () -> assertRoundTrip(Types.ofUnordered(String.class, tags)),
+                () -> assertRoundTrip(A.class.getDeclaredField("a").getGenericType())
+        );
+    }
+
+    @Test
+    public void testSharedSubtrees() {
+        var list = Types.of(List.class, Types.of(List.class, String.class));
+        var single = CODEC.encode(list);
+        var shared = CODEC.encode(Types.of(Map.class, list, list));
+        // The second occurrence is written as a reference
+        assertTrue(shared.length < 2 * single.length);
+        assertEquals(Types.of(Map.class, list, list), CODEC.decode(shared));
+    }
+
+    @Test
+    public void testStreams() throws Exception {
+        var first = Types.of(List.class, String.class);
+        var second = Types.of(Map.class, String.class, Integer.class);
+        var output = new ByteArrayOutputStream();
+        CODEC.write(first, output);
+        CODEC.write(second, output);
+        var input = new ByteArrayInputStream(output.toByteArray());
+        assertEquals(first, CODEC.read(input));
+        assertEquals(second, CODEC.read(input));
+        assertEquals(-1, input.read());
+        var buffer = ByteBuffer.allocate(256);
+        CODEC.write(first, buffer);
+        buffer.flip();
+        assertEquals(first, CODEC.read(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testErrors() {
+        var variable = List.class.getTypeParameters()[0];
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> CODEC.encode(null)),
+                () -> assertThrows(IllegalTypeException.class, () -> CODEC.encode(variable)),
+                () -> assertThrows(IllegalTypeException.class, () -> CODEC.encode(Types.of(String.class, new Object[]{1.0}))),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{2, 1})),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 3}))
+        );
+    }
+
+    @Test
+    public void testMalformed() {
+        var huge = new byte[]{1, 1, 0, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 4, 'a'};
+        var raw = Types.of(List.class, String.class);
+        // A parameterized type, whose raw type is a parameterized type as well
+        var nested = new byte[]{1, 3, 0, 3, 0, 1, 0, 14, 'j', 'a', 'v', 'a', '.', 'u', 't', 'i', 'l', '.', 'L', 'i', 's', 't', 0};
+        var deep = new byte[200_000];
+        deep[0] = 1;
+        Arrays.fill(deep, 1, deep.length, (byte) 4);
+        assertAll(
+                // Zero and too large array dimensions
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 2, 0, 0, 3, 'i', 'n', 't'})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> CODEC.decode(new byte[]{1, 2, (byte) 0xFF, (byte) 0xFF, 3, 0, 3, 'i', 'n', 't'})),
+                // Negative and too large string lengths
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> CODEC.decode(new byte[]{1, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F})),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(huge)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.read(new ByteArrayInputStream(huge))),
+                // Truncated data
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 1, 0, 3, 'i'})),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> CODEC.read(new ByteArrayInputStream(new byte[]{1, 1, 0, 3, 'i'}))),
+                // Wildcard without upper bounds
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 5, 0, 0})),
+                // Truncated parameterized type
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 3, 0, 1, 0})),
+                // Null and parameterized raw types
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 3, 0, 0, 0})),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(nested)),
+                // Null components and bounds
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 4, 0})),
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(new byte[]{1, 5, 1, 0, 0})),
+                // Nesting deeper than the limit
+                () -> assertThrows(IllegalArgumentException.class, () -> CODEC.decode(deep)),
+                () -> assertThrows(IllegalTypeException.class, () -> CODEC.encode(Types.of(raw, String.class)))
+        );
+    }
+
+    public static final class A {
+        Map<String, ? extends List<? super Integer>>[] a;
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DepthTest {
+    private static final int DEPTH = 10_000;
+
+    private static Type nestLists(Type type, int depth) {
+        for (var i = 0; i < depth; ++i) {
+            type = Types.of(List.class, type);
+        }
+        return type;
+    }
+
+    private static Type nestArrays(Type type, int depth) {
+        for (var i = 0; i < depth; ++i) {
+            type = Types.of(type);
+        }
+        return type;
+    }
+
+    private static void runWithSmallStack(Runnable runnable) throws InterruptedException {
+        var error = new AtomicReference<Throwable>();
+        var thread = new Thread(null, () -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        }, "small-stack", 256 * 1024);
+        thread.start();
+        thread.join();
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+    }
+
+    @Test
+    public void testParameterized() throws InterruptedException {
+        runWithSmallStack(() -> {
+            var first = nestLists(String.class, DEPTH);
+            var second = nestLists(String.class, DEPTH);
+            var other = nestLists(Integer.class, DEPTH);
+            var name = first.getTypeName();
+            assertAll(
+                    () -> assertEquals(first.hashCode(), second.hashCode()),
+                    () -> assertEquals(first, second),
+                    () -> assertNotEquals(first, other),
+                    () -> assertEquals(List.class, TypeUtil.getRawType(first)),
+                    () -> assertSame(first, Types.canonicalize(first)),
+                    () -> assertSame(Types.intern(first), Types.intern(second)),
+                    () -> assertEquals(first, Types.intern(first)),
+                    () -> assertTrue(TypeSignatures.getSignature(first).startsWith("Ljava/util/List<Ljava/util/List<")),
+                    () -> assertTrue(name.startsWith("java.util.List<java.util.List<")),
+                    () -> assertTrue(name.contains("<java.lang.String>")),
+                    () -> assertEquals(DEPTH, name.chars().filter(c -> c == '>').count())
+            );
+        });
+    }
+
+    @Test
+    public void testGenericArray() throws InterruptedException {
+        runWithSmallStack(() -> {
+            var component = Types.of(List.class, String.class);
+            var first = nestArrays(component, DEPTH);
+            var second = nestArrays(component, DEPTH);
+            assertAll(
+                    () -> assertEquals(first.hashCode(), second.hashCode()),
+                    () -> assertEquals(first, second),
+                    () -> assertNotEquals(first, nestArrays(component, DEPTH - 1)),
+                    // The jvm does not support more than 255 dimensions
+                    () -> assertThrows(IllegalArgumentException.class, () -> TypeUtil.getRawType(first)),
+                    () -> assertEquals(List[][].class, TypeUtil.getRawType(nestArrays(component, 2))),
+                    () -> assertEquals("java.util.List<java.lang.String>" + "[]".repeat(DEPTH), first.getTypeName())
+            );
+        });
+    }
+
+    @Test
+    public void testCanonicalize() throws InterruptedException, NoSuchFieldException {
+        var jdk = (ParameterizedType) ImplsTest.A.class.getDeclaredField("c").getGenericType();
+        runWithSmallStack(() -> {
+            var deep = nestLists(jdk, DEPTH);
+            var canonical = Types.canonicalize(deep);
+            assertAll(
+                    () -> assertNotSame(deep, canonical),
+                    () -> assertEquals(deep, canonical),
+                    () -> assertEquals(deep.hashCode(), canonical.hashCode()),
+                    () -> assertSame(canonical, Types.canonicalize(canonical))
+            );
+        });
+    }
+
+    @Test
+    public void testLimit() {
+        var type = nestArrays(String.class, Types.MAX_DEPTH);
+        Type foreign = String.class;
+        for (var i = 0; i <= Types.MAX_DEPTH; ++i) {
+            foreign = new ForeignList(foreign);
+        }
+        var deep = foreign;
+        // The same exception is thrown for the created, canonicalized and interned types
+        assertAll(
+                () -> assertSame(type, assertThrows(IllegalTypeException.class, () -> Types.of(type)).getType()),
+                () -> assertThrows(IllegalTypeException.class, () -> Types.of(List.class, type)),
+                () -> assertThrows(IllegalTypeException.class, () -> Types.subtypeOf(type)),
+                () -> assertThrows(IllegalTypeException.class, () -> Types.of(type, new Object[]{"tag"})),
+                () -> assertThrows(IllegalTypeException.class, () -> Types.canonicalize(deep)),
+                () -> assertThrows(IllegalTypeException.class, () -> Types.intern(deep))
+        );
+    }
+
+    private static final class ForeignList implements ParameterizedType {
+        private final Type[] arguments;
+
+        private ForeignList(Type argument) {
+            this.arguments = new Type[]{argument};
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+}
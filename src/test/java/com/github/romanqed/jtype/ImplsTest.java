@@ -2,9 +2,13 @@ package com.github.romanqed.jtype;
 
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ImplsTest {
 
@@ -13,6 +17,9 @@ public class ImplsTest {
         var expected = A.class.getDeclaredField("a").getGenericType();
         var actual = Types.of(List.class, String.class);
         assertEquals(expected, actual);
+        var interned = (ParameterizedType) Types.intern(actual);
+        interned.getActualTypeArguments()[0] = Integer.class;
+        assertEquals(expected, interned);
     }
 
     @Test
@@ -36,6 +43,125 @@ public class ImplsTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testIntern() throws NoSuchFieldException {
+        var jdk = A.class.getDeclaredField("b").getGenericType();
+        var jtype = Types.of(Types.of(List.class, String.class));
+        var interned = Types.intern(jdk);
+        assertAll(
+                () -> assertNull(Types.intern(null)),
+                () -> assertSame(String.class, Types.intern(String.class)),
+                () -> assertEquals(jdk, interned),
+                () -> assertSame(interned, Types.intern(jtype)),
+                () -> assertSame(interned, Types.intern(interned)),
+                () -> assertSame(
+                        ((GenericArrayType) interned).getGenericComponentType(),
+                        Types.intern(Types.of(List.class, String.class))
+                )
+        );
+    }
+
+    @Test
+    public void testCanonicalize() throws NoSuchFieldException {
+        var jdk = A.class.getDeclaredField("c").getGenericType();
+        var canonical = Types.canonicalize(jdk);
+        assertEquals(jdk, canonical);
+        assertNotSame(jdk, canonical);
+        assertSame(canonical, Types.canonicalize(canonical));
+        var tagged = Types.of(canonical, new Object[]{"tag"});
+        assertSame(tagged, Types.canonicalize(tagged));
+        var mixed = (ParameterizedType) Types.canonicalize(Types.of(Map.class, tagged, jdk));
+        assertSame(tagged, mixed.getActualTypeArguments()[0]);
+        assertNotSame(jdk, mixed.getActualTypeArguments()[1]);
+        assertSame(mixed, Types.canonicalize(mixed));
+    }
+
+    @Test
+    public void testTransformer() {
+        var stripper = new TypeTransformer() {
+            @Override
+            public Type visitTagged(TaggedType type) {
+                return transform(type.getRawType());
+            }
+        };
+        var shared = Types.of(List.class, String.class);
+        var type = Types.of(Map.class, shared, Types.of(Integer.class, new Object[]{"tag"}));
+        var stripped = (ParameterizedType) stripper.transform(type);
+        assertEquals(Types.of(Map.class, shared, Integer.class), stripped);
+        assertSame(shared, stripped.getActualTypeArguments()[0]);
+        assertSame(stripped, stripper.transform(stripped));
+    }
+
+    @Test
+    public void testTags() {
+        var tagged = Types.of(String.class, new Object[]{"primary", 5, null});
+        var other = new TaggedType() {
+            @Override
+            public Type getRawType() {
+                return String.class;
+            }
+
+            @Override
+            public Object[] getTags() {
+                return new Object[]{"primary", 5, null};
+            }
+        };
+        assertAll(
+                () -> assertEquals(3, tagged.getTagCount()),
+                () -> assertEquals(5, tagged.getTag(1)),
+                () -> assertTrue(tagged.hasTag("primary")),
+                () -> assertTrue(tagged.hasTag(null)),
+                () -> assertFalse(tagged.hasTag("secondary")),
+                () -> assertEquals(Integer.valueOf(5), tagged.getTag(Integer.class)),
+                () -> assertNull(tagged.getTag(Long.class)),
+                () -> assertEquals(3, other.getTagCount()),
+                () -> assertEquals("primary", other.getTag(String.class)),
+                () -> assertEquals(tagged, other),
+                () -> assertNotEquals(tagged, Types.of(String.class, new Object[]{"primary", 5}))
+        );
+        // The tags of other implementations are copied once per comparison
+        var copies = new int[1];
+        var counted = new TaggedType() {
+            @Override
+            public Type getRawType() {
+                return String.class;
+            }
+
+            @Override
+            public Object[] getTags() {
+                ++copies[0];
+                return new Object[]{"primary", 5, null};
+            }
+        };
+        assertEquals(tagged, counted);
+        assertEquals(1, copies[0]);
+    }
+
+    @Test
+    public void testUnorderedTags() {
+        var first = Types.ofUnordered(String.class, new Object[]{"a", "b", 1});
+        var second = Types.ofUnordered(String.class, new Object[]{1, "b", "a", "b"});
+        var ordered = Types.of(String.class, first.getTags());
+        var replacer = new TypeTransformer() {
+            @Override
+            public Type visitClass(Class<?> type) {
+                return type == String.class ? Integer.class : type;
+            }
+        };
+        assertAll(
+                () -> assertFalse(first.isOrdered()),
+                () -> assertEquals(first, second),
+                () -> assertEquals(first.hashCode(), second.hashCode()),
+                () -> assertEquals(first.getTypeName(), second.getTypeName()),
+                () -> assertEquals(3, second.getTagCount()),
+                () -> assertNotEquals(first, ordered),
+                () -> assertNotEquals(ordered, first),
+                () -> assertNotEquals(first, Types.ofUnordered(String.class, new Object[]{"a", "b"})),
+                () -> assertSame(Types.intern(first), Types.intern(second)),
+                () -> assertEquals(Types.ofUnordered(Integer.class, new Object[]{1, "a", "b"}), replacer.transform(first))
+        );
+    }
+
     public static final class A {
         List<String> a;
         List<String>[] b;
@@ -0,0 +1,70 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JTypeTest {
+
+    private static JType<List<String>> create() {
+        return new JType<>() {
+        };
+    }
+
+    @Test
+    public void testTypeToken() {
+        var first = create();
+        var second = create();
+        var expected = JType.of(Types.of(List.class, String.class));
+        assertAll(
+                () -> assertEquals(List.class, first.getRawType()),
+                () -> assertSame(first.getType(), second.getType()),
+                () -> assertEquals(expected, first),
+                () -> assertEquals(first, expected),
+                () -> assertEquals(expected.hashCode(), first.hashCode())
+        );
+    }
+
+    @Test
+    public void testMissingTypeArgument() {
+        assertThrows(IllegalStateException.class, Indirect::new);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class Indirect extends JType {
+    }
+
+    @Test
+    public void testHierarchy() {
+        var type = new JType<ArrayList<String>>() {
+        };
+        var interfaces = type.getInterfaces();
+        assertAll(
+                () -> assertEquals(
+                        List.of(
+                                Types.of(AbstractList.class, String.class),
+                                Types.of(AbstractCollection.class, String.class),
+                                Object.class
+                        ),
+                        type.getSupertypes()
+                ),
+                () -> assertSame(type.getSupertypes(), JType.of(Types.of(ArrayList.class, String.class)).getSupertypes()),
+                () -> assertEquals(Types.of(List.class, String.class), interfaces.get(0)),
+                () -> assertTrue(interfaces.contains(Types.of(Iterable.class, String.class))),
+                () -> assertTrue(interfaces.contains(Serializable.class)),
+                () -> assertEquals(interfaces.size(), new HashSet<>(interfaces).size()),
+                () -> assertArrayEquals(new Object[]{String.class}, type.getTypeArguments(Iterable.class)),
+                () -> assertArrayEquals(new Object[0], type.getTypeArguments(Serializable.class)),
+                () -> assertNull(type.getTypeArguments(Map.class)),
+                () -> assertArrayEquals(
+                        new Object[]{String.class, Integer.class},
+                        new JType<HashMap<String, Integer>>() {
+                        }.getTypeArguments(Map.class)
+                ),
+                () -> assertTrue(JType.of(Runnable.class).getSupertypes().isEmpty())
+        );
+    }
+}
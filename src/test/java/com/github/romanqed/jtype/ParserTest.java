@@ -0,0 +1,114 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParserTest {
+    private static final TypeParser PARSER = new TypeParser(ParserTest.class.getClassLoader());
+
+    private static void assertRoundTrip(Type type) {
+        assertEquals(type, PARSER.parse(type.getTypeName()));
+    }
+
+    @Test
+    public void testClasses() {
+        assertAll(
+                () -> assertEquals(String.class, PARSER.parse("java.lang.String")),
+                () -> assertEquals(int.class, PARSER.parse("int")),
+                () -> assertEquals(int[][].class, PARSER.parse("int[][]")),
+                () -> assertEquals(String[][].class, PARSER.parse("[[Ljava.lang.String;")),
+                () -> assertEquals(long[].class, PARSER.parse("[J")),
+                () -> assertEquals(Map.Entry.class, PARSER.parse("java.util.Map$Entry"))
+        );
+    }
+
+    @Test
+    public void testRoundTrip() throws NoSuchFieldException {
+        var wildcard = Types.of(Map.class, String.class, Types.subtypeOf(Types.of(List.class, Integer[].class)));
+        assertAll(
+                () -> assertRoundTrip(Types.of(List.class, String.class)),
+                () -> assertRoundTrip(Types.of(Types.of(List.class, Types.supertypeOf(Number.class)), 2)),
+                () -> assertRoundTrip(Types.of(List.class, Types.subtypeOf(Object.class))),
+                () -> assertRoundTrip(wildcard),
+                () -> assertRoundTrip(Types.of(Map.Entry.class, String.class, Integer.class)),
+                () -> assertRoundTrip(Types.of(Types.of(List.class, String.class), new Object[]{"primary", "1"})),
+                () -> assertRoundTrip(Types.of(List.class, Types.of(String.class, new Object[]{"tag"}))),
+                () -> assertRoundTrip(A.class.getDeclaredField("a").getGenericType()),
+                () -> assertRoundTrip(A.class.getDeclaredField("b").getGenericType())
+        );
+        // The jtype implementations render parameterized owners as the jdk does
+        var inner = A.class.getDeclaredField("a").getGenericType();
+        var interned = Types.intern(inner);
+        assertAll(
+                () -> assertNotSame(inner, interned),
+                () -> assertEquals(inner.getTypeName(), interned.getTypeName()),
+                () -> assertRoundTrip(interned),
+                () -> assertRoundTrip(Types.of(interned, new Object[]{"tag"}))
+        );
+        // Owners that do not enclose the raw types are not rendered
+        var owner = Types.of(ArrayList.class, String.class);
+        var tagged = Types.of(List.class, new Object[]{"tag"});
+        assertAll(
+                () -> assertEquals(
+                        "java.util.List<java.lang.String>",
+                        Types.ofOwned(owner, List.class, String.class).getTypeName()
+                ),
+                () -> assertEquals(
+                        "java.util.Map$Entry<java.lang.String, java.lang.String>",
+                        Types.ofOwned(Types.of(List.class, String.class), Map.Entry.class, String.class, String.class)
+                                .getTypeName()
+                ),
+                () -> assertEquals(
+                        "java.util.List:tag<java.lang.String>",
+                        Types.ofOwned(owner, tagged, String.class).getTypeName()
+                )
+        );
+    }
+
+    @Test
+    public void testCache() {
+        var name = "java.util.List<java.lang.String>";
+        assertSame(PARSER.parse(name), PARSER.parse(name));
+    }
+
+    @Test
+    public void testErrors() {
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> PARSER.parse(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("java.util.List<java.lang.String")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("java.util.List<>")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("java.lang.String]")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("com.example.Missing")),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse(nested(100_000))),
+                () -> assertThrows(IllegalArgumentException.class, () -> PARSER.parse("? extends ".repeat(100_000) + "?"))
+        );
+    }
+
+    private static String nested(int depth) {
+        return "java.util.List<".repeat(depth) + "java.lang.String" + ">".repeat(depth);
+    }
+
+    @Test
+    public void testDepth() {
+        var type = PARSER.parse(nested(TypeParser.MAX_DEPTH - 1));
+        assertEquals(TypeParser.MAX_DEPTH - 1, TypeTraversal.depthOf(type));
+        assertThrows(IllegalArgumentException.class, () -> PARSER.parse(nested(TypeParser.MAX_DEPTH)));
+    }
+
+    public static final class A {
+        Outer<String>.Inner<Integer> a;
+        Map<String, ? extends List<? super Integer>>[] b;
+    }
+
+    public static final class Outer<T> {
+        public final class Inner<U> {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+import static com.github.romanqed.jtype.TypeResolver.getSupertype;
+import static com.github.romanqed.jtype.TypeResolver.resolve;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResolverTest {
+
+    @Test
+    public void testResolveVariable() throws NoSuchFieldException {
+        var variable = Repository.class.getTypeParameters()[0];
+        var items = BaseRepo.class.getDeclaredField("items").getGenericType();
+        var array = BaseRepo.class.getDeclaredField("array").getGenericType();
+        assertAll(
+                () -> assertEquals(User.class, resolve(UserRepo.class, variable)),
+                () -> assertEquals(User.class, resolve(JType.of(UserRepo.class), variable)),
+                () -> assertEquals(Types.of(List.class, User.class), resolve(UserRepo.class, items)),
+                () -> assertEquals(User[].class, resolve(UserRepo.class, array)),
+                () -> assertEquals(String.class, resolve(Types.of(BaseRepo.class, String.class), variable)),
+                () -> assertEquals(variable, resolve(Repository.class, variable))
+        );
+    }
+
+    @Test
+    public void testResolveRaw() {
+        var variable = Repository.class.getTypeParameters()[0];
+        assertEquals(Object.class, resolve(RawRepo.class, variable));
+    }
+
+    @Test
+    public void testResolveOwner() throws NoSuchFieldException {
+        var value = Outer.Inner.class.getDeclaredField("value").getGenericType();
+        var context = Types.ofOwned(Types.of(Outer.class, String.class), Outer.Inner.class);
+        assertEquals(Types.of(List.class, String.class), resolve(context, value));
+    }
+
+    @Test
+    public void testGetSupertype() {
+        var type = Types.of(ArrayList.class, String.class);
+        // The self type of ArrayList, which is substituted with itself
+        var generic = Types.of(ArrayList.class, ArrayList.class.getTypeParameters()[0]);
+        assertAll(
+                () -> assertEquals(Types.of(Iterable.class, String.class), getSupertype(type, Iterable.class)),
+                () -> assertEquals(Types.of(Repository.class, User.class), getSupertype(UserRepo.class, Repository.class)),
+                () -> assertEquals(Object.class, getSupertype(type, Object.class)),
+                () -> assertEquals(type, getSupertype(type, ArrayList.class)),
+                () -> assertNotSame(getSupertype(generic, ArrayList.class), getSupertype(generic, ArrayList.class)),
+                () -> {
+                    var self = (ParameterizedType) getSupertype(generic, ArrayList.class);
+                    self.getActualTypeArguments()[0] = String.class;
+                    assertEquals(ArrayList.class.getTypeParameters()[0], self.getActualTypeArguments()[0]);
+                },
+                // The supertypes of raw types are erased
+                () -> assertEquals(Iterable.class, getSupertype(ArrayList.class, Iterable.class)),
+                () -> assertEquals(ArrayList.class, getSupertype(ArrayList.class, ArrayList.class)),
+                () -> assertEquals(Iterable.class, getSupertype(Types.of(ArrayList.class, new Object[]{"tag"}), Iterable.class)),
+                () -> assertArrayEquals(new Type[0], JType.of(ArrayList.class).getTypeArguments(List.class)),
+                () -> assertNull(getSupertype(type, Map.class))
+        );
+    }
+
+    @Test
+    public void testMembers() throws NoSuchFieldException, NoSuchMethodException {
+        var items = BaseRepo.class.getDeclaredField("items");
+        var find = BaseRepo.class.getDeclaredMethod("find", Object.class, List.class);
+        var context = JType.of(UserRepo.class);
+        var users = Types.of(List.class, User.class);
+        assertAll(
+                () -> assertEquals(users, MemberResolver.getType(context, items)),
+                () -> assertSame(MemberResolver.getType(context, items), MemberResolver.getType(UserRepo.class, items)),
+                () -> assertEquals(User[].class, MemberResolver.getType(context, BaseRepo.class.getDeclaredField("array"))),
+                () -> assertEquals(users, MemberResolver.getReturnType(context, find)),
+                () -> assertArrayEquals(
+                        new Object[]{User.class, users},
+                        MemberResolver.getParameterTypes(context, find)
+                ),
+                () -> assertArrayEquals(
+                        new Object[]{String.class},
+                        MemberResolver.getParameterTypes(
+                                Types.of(BaseRepo.class, String.class),
+                                BaseRepo.class.getDeclaredConstructor(Object.class)
+                        )
+                ),
+                () -> assertThrows(IllegalArgumentException.class, () -> MemberResolver.getType(User.class, items))
+        );
+    }
+
+    public interface Repository<T> {
+    }
+
+    public static class BaseRepo<T> implements Repository<T> {
+        List<T> items;
+        T[] array;
+
+        public BaseRepo() {
+        }
+
+        public BaseRepo(T item) {
+        }
+
+        List<T> find(T item, List<T> items) {
+            return items;
+        }
+    }
+
+    public static class User {
+    }
+
+    public static class UserRepo extends BaseRepo<User> {
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static class RawRepo extends BaseRepo {
+    }
+
+    public static class Outer<T> {
+        public class Inner {
+            List<T> value;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.romanqed.jtype.TypeSignatures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignatureTest {
+    private static final ClassResolver RESOLVER = ClassResolver.of(SignatureTest.class.getClassLoader());
+
+    @Test
+    public void testDescriptors() {
+        assertAll(
+                () -> assertEquals("I", getDescriptor(int.class)),
+                () -> assertEquals("Ljava/lang/String;", getDescriptor(String.class)),
+                () -> assertEquals("[[J", getDescriptor(long[][].class)),
+                () -> assertEquals("Ljava/util/List;", getDescriptor(Types.of(List.class, String.class))),
+                () -> assertEquals("[Ljava/util/List;", getDescriptor(Types.of(Types.of(List.class, String.class)))),
+                () -> assertEquals("Ljava/lang/CharSequence;", getDescriptor(B.class.getTypeParameters()[0])),
+                () -> assertEquals("Ljava/lang/Object;", getDescriptor(A.class.getTypeParameters()[0])),
+                () -> assertEquals(String[].class, parseDescriptor("[Ljava/lang/String;", RESOLVER)),
+                () -> assertEquals(boolean.class, parseDescriptor("Z", RESOLVER)),
+                () -> assertEquals(Map.Entry.class, parseDescriptor("Ljava/util/Map$Entry;", RESOLVER))
+        );
+    }
+
+    @Test
+    public void testSignatures() throws NoSuchFieldException {
+        var map = A.class.getDeclaredField("map").getGenericType();
+        var inner = A.class.getDeclaredField("inner").getGenericType();
+        var variable = A.class.getDeclaredField("variable").getGenericType();
+        var mapSignature = "Ljava/util/Map<Ljava/lang/String;Ljava/util/List<+Ljava/lang/Number;>;>;";
+        var innerSignature = "Lcom/github/romanqed/jtype/SignatureTest$Outer<Ljava/lang/String;>.Inner<-Ljava/lang/Integer;>;";
+        assertAll(
+                () -> assertEquals("Ljava/lang/String;", getSignature(String.class)),
+                () -> assertEquals(mapSignature, getSignature(map)),
+                () -> assertEquals(mapSignature, getSignature(Types.canonicalize(map))),
+                () -> assertEquals(innerSignature, getSignature(inner)),
+                () -> assertEquals("[TT;", getSignature(variable)),
+                () -> assertEquals("Ljava/util/List<*>;", getSignature(Types.of(List.class, Types.subtypeOf(Object.class)))),
+                () -> assertEquals(map, parseSignature(mapSignature, RESOLVER)),
+                () -> assertEquals(inner, parseSignature(innerSignature, RESOLVER)),
+                () -> assertEquals(
+                        "Ljava/util/List<Ljava/lang/String;>;",
+                        getSignature(Types.ofOwned(Types.of(ArrayList.class, String.class), List.class, String.class))
+                ),
+                () -> assertThrows(IllegalTypeException.class, () -> getSignature(Types.subtypeOf(String.class))),
+                () -> assertThrows(
+                        IllegalTypeException.class,
+                        () -> getSignature(Types.of(Types.of(List.class, new Object[]{"tag"}), String.class))
+                ),
+                () -> assertThrows(IllegalArgumentException.class, () -> parseSignature("[TT;", RESOLVER)),
+                () -> assertThrows(IllegalArgumentException.class, () -> parseSignature("Ljava/util/List<>;", RESOLVER)),
+                () -> assertThrows(IllegalArgumentException.class, () -> parseSignature("Ljava/lang/String", RESOLVER)),
+                () -> assertThrows(IllegalArgumentException.class, () -> parseDescriptor("Ljava/util/List<*>;", RESOLVER))
+        );
+    }
+
+    public static final class A<T> {
+        Map<String, List<? extends Number>> map;
+        Outer<String>.Inner<? super Integer> inner;
+        T[] variable;
+    }
+
+    public static final class B<T extends CharSequence> {
+    }
+
+    public static final class Outer<T> {
+        public final class Inner<U> {
+        }
+    }
+}
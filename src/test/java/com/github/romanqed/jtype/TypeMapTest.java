@@ -0,0 +1,44 @@
+package com.github.romanqed.jtype;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeMapTest {
+
+    @Test
+    public void testMixedKeys() throws NoSuchFieldException {
+        var jdk = A.class.getDeclaredField("a").getGenericType();
+        var map = new TypeMap<String>();
+        map.put(Types.of(Map.class, String.class, Types.of(List.class, Integer.class)), "map");
+        map.put(String.class, "string");
+        assertAll(
+                () -> assertEquals("map", map.get(jdk)),
+                () -> assertEquals("map", map.get(new JType<Map<String, List<Integer>>>() {
+                })),
+                () -> assertEquals("string", map.get(JType.of(String.class))),
+                () -> assertTrue(map.containsKey(String.class)),
+                () -> assertNull(map.get(Integer.class)),
+                () -> assertThrows(NullPointerException.class, () -> map.get((Type) null))
+        );
+    }
+
+    @Test
+    public void testInternedKeys() throws NoSuchFieldException {
+        var jdk = A.class.getDeclaredField("a").getGenericType();
+        var map = new TypeMap<String>();
+        map.put(jdk, "map");
+        map.forEach((key, value) -> assertSame(Types.intern(jdk), key));
+        assertEquals("map", map.computeIfAbsent(Types.intern(jdk), key -> "other"));
+        assertEquals("map", map.remove(jdk));
+        assertTrue(map.isEmpty());
+    }
+
+    public static final class A {
+        Map<String, List<Integer>> a;
+    }
+}
@@ -2,10 +2,12 @@ package com.github.romanqed.jtype;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.Serializable;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
 import java.util.List;
+import java.util.Map;
 
 import static com.github.romanqed.jtype.TypeUtil.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,13 +29,39 @@ public class UtilTest {
         );
     }
 
+    @Test
+    public void testPrimitiveTables() {
+        assertAll(
+                () -> assertEquals(Integer.class, wrap(int.class)),
+                () -> assertEquals(Void.class, wrap(void.class)),
+                () -> assertEquals(String.class, wrap(String.class)),
+                () -> assertEquals(boolean.class, unwrap(Boolean.class)),
+                () -> assertEquals(int[].class, unwrap(int[].class)),
+                () -> assertTrue(isWrapper(Character.class)),
+                () -> assertFalse(isWrapper(char.class)),
+                () -> assertEquals(double[].class, getPrimitiveArrayType(double.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getPrimitiveArrayType(void.class)),
+                () -> assertEquals('J', getPrimitiveDescriptor(long.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getPrimitiveDescriptor(Long.class)),
+                () -> assertEquals(short.class, getPrimitive('S')),
+                () -> assertNull(getPrimitive('L'))
+        );
+    }
+
     @Test
     public void testGetArrayType() {
         assertAll(
                 () -> assertThrows(NullPointerException.class, () -> getArrayType(null, 1)),
                 () -> assertThrows(IllegalArgumentException.class, () -> getArrayType(String.class, 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getArrayType(void.class, 1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getArrayType(String.class, 5000)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getArrayType(String[].class, 255)),
+                () -> assertEquals(255, getArrayType(Object.class, 255).getName().lastIndexOf('[') + 1),
                 () -> assertEquals(String[].class, getArrayType(String.class, 1)),
-                () -> assertEquals(String[][].class, getArrayType(String[].class, 1))
+                () -> assertEquals(String[][].class, getArrayType(String[].class, 1)),
+                () -> assertEquals(String[][][].class, getArrayType(String.class, 3)),
+                () -> assertEquals(int[][].class, getArrayType(int.class, 2)),
+                () -> assertEquals(int[].class, getArrayType(int.class))
         );
     }
 
@@ -73,4 +101,100 @@ public class UtilTest {
                 () -> assertEquals(List.class, getRawType(type))
         );
     }
+
+    @Test
+    public void testAppendTypeName() {
+        // java.util.List<? extends java.lang.String>[]:tag
+        var type = Types.of(Types.of(Types.of(List.class, Types.subtypeOf(String.class))), new Object[]{"tag"});
+        var expected = "java.util.List<? extends java.lang.String>[]:tag";
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> appendTypeName(null, type)),
+                () -> assertEquals("type " + expected, appendTypeName(new StringBuilder("type "), type).toString()),
+                () -> assertEquals(expected, type.getTypeName()),
+                () -> assertEquals(expected, type.toString())
+        );
+    }
+
+    @Test
+    public void testErase() {
+        var variable = Bounded.class.getTypeParameters()[0];
+        var dependent = Bounded.class.getTypeParameters()[1];
+        var multiple = new WildcardTypeImpl(new Type[]{Number.class, Comparable.class}, Types.EMPTY_ARRAY);
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> erase(null)),
+                () -> assertEquals(Number.class, erase(variable)),
+                () -> assertEquals(Number.class, erase(dependent)),
+                () -> assertEquals(Number[][].class, erase(Types.of(variable, 2))),
+                () -> assertEquals(Object.class, getRawType(variable)),
+                () -> assertEquals(List.class, erase(Types.of(List.class, variable))),
+                () -> assertEquals(Number.class, erase(multiple)),
+                () -> assertEquals(Number.class, getRawType(multiple))
+        );
+    }
+
+    @Test
+    public void testCapture() {
+        var map = Types.of(Map.class, Types.subtypeOf(Number.class), Types.supertypeOf(String.class));
+        var bounded = Types.of(Bounded.class, Integer.class, Integer.class);
+        var wildcards = Types.of(Bounded.class, Integer.class, Types.subtypeOf(Object.class));
+        var list = Types.of(List.class, String.class);
+        assertAll(
+                () -> assertThrows(NullPointerException.class, () -> capture(null)),
+                () -> assertEquals(Types.of(Map.class, Number.class, Object.class), capture(map)),
+                () -> assertSame(capture(map), capture(map)),
+                () -> assertEquals(Types.of(Enum.class, Types.of(Enum.class, Enum.class)), capture(Types.of(Enum.class, Types.subtypeOf(Object.class)))),
+                () -> assertEquals(Types.of(Bounded.class, Integer.class, Integer.class), capture(wildcards)),
+                () -> assertEquals(
+                        Types.of(Bounded.class, Number.class, Number.class),
+                        capture(Types.of(Bounded.class, Types.subtypeOf(Object.class), Types.subtypeOf(Serializable.class)))
+                ),
+                () -> assertSame(Types.intern(Types.of(String.class)), capture(Types.of(String.class))),
+                () -> assertEquals(bounded, capture(bounded)),
+                () -> assertEquals(list, capture(list)),
+                () -> assertSame(String.class, capture(String.class))
+        );
+    }
+
+    @Test
+    public void testGetRawTypes() throws NoSuchMethodException {
+        var list = Types.of(List.class, String.class);
+        var types = new Type[]{String.class, list, list, Types.of(list), Types.subtypeOf(list)};
+        var expected = new Class<?>[]{String.class, List.class, List.class, List[].class, List.class};
+        var large = new Type[20000];
+        for (var i = 0; i < large.length; ++i) {
+            large[i] = i % 2 == 0 ? list : Types.of(list);
+        }
+        var raws = getRawTypes(large, new Class<?>[large.length], true);
+        var method = UtilTest.class.getDeclaredMethod("sample", List.class, int.class);
+        assertAll(
+                () -> assertArrayEquals(expected, getRawTypes(types)),
+                () -> assertArrayEquals(expected, getRawTypes(types, new Class<?>[types.length], true)),
+                () -> assertThrows(IllegalArgumentException.class, () -> getRawTypes(types, new Class<?>[1])),
+                () -> assertEquals(List.class, raws[10000]),
+                () -> assertEquals(List[].class, raws[10001]),
+                () -> assertArrayEquals(
+                        new Class<?>[]{List.class, int.class, null},
+                        getParameterRawTypes(method, new Class<?>[3])
+                ),
+                () -> assertArrayEquals(
+                        new Class<?>[]{String.class},
+                        getRawTypes(Holder.class.getDeclaredFields(), new Class<?>[1])
+                ),
+                () -> assertArrayEquals(
+                        new Class<?>[]{Object.class},
+                        getRawTypes(new Type[]{Holder.class.getDeclaredField("value").getGenericType()})
+                )
+        );
+    }
+
+    @SuppressWarnings("unused")
+    private static void sample(List<String> list, int value) {
+    }
+
+    private static final class Holder<T extends String> {
+        T value;
+    }
+
+    private static final class Bounded<T extends Number & Comparable<T>, U extends T> {
+    }
 }